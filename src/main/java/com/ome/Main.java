@@ -30,6 +30,7 @@ public class Main {
                "Java 17  ·  Simulating Exchange Microstructure");
 
         Exchange exchange = new Exchange("SIM-EXCHANGE");
+        exchange.enableConsoleLog();
 
         // ═══════════════════════════════════════════════════════════════════
         // SCENARIO 1: Seed the AAPL order book
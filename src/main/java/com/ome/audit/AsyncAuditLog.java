@@ -0,0 +1,145 @@
+package com.ome.audit;
+
+import com.ome.metrics.StripedCounter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AuditLog backed by a pre-allocated ring of binary records, drained into
+ * Sinks by one background thread.
+ *
+ *   record : CAS-claim a slot → write primitives into parallel arrays → publish
+ *   drain  : background thread hands each published record to every Sink
+ *
+ * The record fields live in flat arrays sized once (STRIDE longs per slot,
+ * plus type / symbol / owner references that callers already hold), so
+ * logging allocates nothing and costs a CAS and a few stores on the engine
+ * thread. Any number of threads may log concurrently — shards, the
+ * EventBus dispatcher.
+ *
+ * The engine is never slowed by its log: when the ring is full, records
+ * are dropped and counted, like EventBus events.
+ */
+public final class AsyncAuditLog implements AuditLog {
+
+    private static final int  DEFAULT_CAPACITY = 16_384;
+    private static final int  STRIDE           = 5;          // time, a, b, c, d
+    private static final long IDLE_PARK_NANOS  = 100_000;
+
+    private final int             mask;
+    private final long[]          values;
+    private final Type[]          types;
+    private final String[]        symbols;
+    private final String[]        owners;
+    private final AtomicLongArray published;
+    private final AtomicLong      cursor   = new AtomicLong(-1);   // last claimed
+    private final AtomicLong      drained  = new AtomicLong(-1);   // last handed to the sinks
+    private final StripedCounter  dropped  = new StripedCounter();
+    private final List<Sink>      sinks    = new CopyOnWriteArrayList<>();
+    private final Thread          drainer;
+    private volatile boolean      running  = true;
+
+    public AsyncAuditLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity records buffered before new ones are dropped, a power of two
+     */
+    public AsyncAuditLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Audit ring capacity must be a power of two. Got: " + capacity);
+        this.mask      = capacity - 1;
+        this.values    = new long[capacity * STRIDE];
+        this.types     = new Type[capacity];
+        this.symbols   = new String[capacity];
+        this.owners    = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) published.set(i, -1);
+
+        this.drainer = new Thread(this::drain, "AuditLog-Drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    // ── API ───────────────────────────────────────────────────────────────────
+
+    public void addSink(Sink sink) {
+        sinks.add(sink);
+    }
+
+    @Override
+    public void record(Type type, String symbol, String owner, long a, long b, long c, long d) {
+        long sequence;
+        do {
+            sequence = cursor.get() + 1;
+            if (sequence - types.length > drained.get()) {     // ring full: never wait on the log
+                dropped.increment();
+                return;
+            }
+        } while (!cursor.compareAndSet(sequence - 1, sequence));
+
+        int slot = (int) (sequence & mask);
+        int base = slot * STRIDE;
+        values[base]     = System.nanoTime();
+        values[base + 1] = a;
+        values[base + 2] = b;
+        values[base + 3] = c;
+        values[base + 4] = d;
+        types[slot]      = type;
+        symbols[slot]    = symbol;
+        owners[slot]     = owner;
+        published.lazySet(slot, sequence);                      // release: slot writes happen-before
+    }
+
+    /**
+     * Hand everything logged so far to the sinks, then stop the drain thread.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        drainer.join(1_000);
+    }
+
+    /**
+     * Wait until every record logged before this call has reached the sinks.
+     */
+    public void flush() {
+        long target = cursor.get();
+        while (drained.get() < target && drainer.isAlive()) LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+    }
+
+    public long           getDropped()        { return dropped.sum(); }
+
+    /** The live drop counter, for a MetricsRegistry. */
+    public StripedCounter getDroppedCounter() { return dropped; }
+
+    // ── Drain Loop ────────────────────────────────────────────────────────────
+
+    private void drain() {
+        long next = 0;
+        while (running || published.get((int) (next & mask)) == next) {
+            int slot = (int) (next & mask);
+            if (published.get(slot) != next) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            int base = slot * STRIDE;
+            for (Sink sink : sinks) {
+                try {
+                    sink.onRecord(types[slot], values[base], symbols[slot], owners[slot],
+                                  values[base + 1], values[base + 2], values[base + 3], values[base + 4]);
+                } catch (RuntimeException ex) {
+                    System.err.println("Audit sink error on " + types[slot] + ": " + ex.getMessage());
+                }
+            }
+            symbols[slot] = null;
+            owners[slot]  = null;
+            drained.lazySet(next);                              // frees the slot for producers
+            next++;
+        }
+    }
+}
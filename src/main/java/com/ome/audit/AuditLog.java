@@ -0,0 +1,59 @@
+package com.ome.audit;
+
+/**
+ * Structured log / audit channel for the engine and its services.
+ *
+ * A record is a type, a symbol and up to four primitive fields — no format
+ * string, no boxing, no String building on the caller's thread. What the
+ * fields mean is fixed per Type (prices are in ticks). Turning a record
+ * into text is left to a Sink on the other side of the channel.
+ *
+ *   NONE          → records are discarded; the default, nothing is printed
+ *   AsyncAuditLog → ring buffer drained by a background thread into Sinks
+ *                   (ConsoleAuditSink for human-readable output)
+ */
+@FunctionalInterface
+public interface AuditLog {
+
+    /** Field layout per type: a, b, c, d. */
+    enum Type {
+        ORDER_LATENCY,      // orderId, latency ns
+        CANCELLED,          // orderId
+        CANCEL_NOT_FOUND,   // orderId
+        EXPIRED,            // orderId (GTD)
+        AMENDED,            // orderId, new quantity, new price ticks
+        AMEND_NOT_FOUND,    // orderId
+        MASS_CANCEL,        // orders cancelled (symbol null for all books)
+        NO_BOOK,            // —
+        AUCTION_OPEN,       // —
+        UNCROSSED,          // volume, price ticks
+        SNAPSHOT,           // best bid ticks, best ask ticks, last trade ticks, total volume
+        REJECTED            // orderId (0 if none); the reason is carried in owner
+    }
+
+    /**
+     * Receives records on the drain thread, in the order they were logged.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void onRecord(Type type, long timeNanos, String symbol, String owner, long a, long b, long c, long d);
+    }
+
+    AuditLog NONE = (type, symbol, owner, a, b, c, d) -> { };
+
+    /**
+     * Log one record. Must not block or allocate; may drop under overload.
+     *
+     * @param owner participant for owner-scoped records (MASS_CANCEL), the
+     *              reason for REJECTED, else null
+     */
+    void record(Type type, String symbol, String owner, long a, long b, long c, long d);
+
+    default void record(Type type, String symbol, long a) {
+        record(type, symbol, null, a, 0, 0, 0);
+    }
+
+    default void record(Type type, String symbol, long a, long b) {
+        record(type, symbol, null, a, b, 0, 0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ome.audit;
+
+import com.ome.model.TickSize;
+
+import java.io.PrintStream;
+
+/**
+ * Human-readable audit output — the engine's old console messages, now
+ * formatted on the AsyncAuditLog drain thread instead of the matching
+ * thread. Opt in with AsyncAuditLog.addSink(new ConsoleAuditSink()).
+ */
+public class ConsoleAuditSink implements AuditLog.Sink {
+
+    private final PrintStream out;
+
+    public ConsoleAuditSink() {
+        this(System.out);
+    }
+
+    public ConsoleAuditSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onRecord(AuditLog.Type type, long timeNanos, String symbol, String owner,
+                         long a, long b, long c, long d) {
+        switch (type) {
+            case ORDER_LATENCY    -> out.printf("  ⏱  Latency: %,d ns%n", b);
+            case CANCELLED        -> out.printf("  🗑  Order #%04d cancelled from %s book.%n", a, symbol);
+            case EXPIRED          -> out.printf("  ⌛  Order #%04d expired from %s book.%n", a, symbol);
+            case CANCEL_NOT_FOUND,
+                 AMEND_NOT_FOUND  -> out.printf("  ⚠️  Order #%04d not found in %s (already filled?).%n", a, symbol);
+            case AMENDED          -> out.printf("  ✏️  Order #%04d amended to %d @ %.2f in %s book.%n",
+                                                a, b, price(symbol, c), symbol);
+            case MASS_CANCEL      -> {
+                if (symbol == null) out.printf("  🗑  Mass cancel for %s: %d order(s) removed.%n", owner, a);
+                else                out.printf("  🗑  Mass cancel for %s in %s: %d order(s) removed.%n", owner, symbol, a);
+            }
+            case NO_BOOK          -> out.printf("  ⚠️  No order book for %s%n", symbol);
+            case AUCTION_OPEN     -> out.printf("  🔔  %s call auction open — orders queue without matching.%n", symbol);
+            case UNCROSSED        -> out.printf("  🔔  %s uncrossed: %,d shares @ %.2f%n", symbol, a, price(symbol, b));
+            case SNAPSHOT         -> out.printf("  📊 %-5s | Bid: %7.2f | Ask: %7.2f | LTP: %7.2f | Vol: %,d%n",
+                                                symbol, price(symbol, a), price(symbol, b), price(symbol, c), d);
+            case REJECTED         -> out.printf("  ⛔  Rejected order #%04d in %s: %s%n", a, symbol, owner);
+        }
+    }
+
+    private static double price(String symbol, long ticks) {
+        return TickSize.forSymbol(symbol).toPrice(ticks);
+    }
+}
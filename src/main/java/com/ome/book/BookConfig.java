@@ -0,0 +1,122 @@
+package com.ome.book;
+
+/**
+ * Immutable per-book configuration: how price levels and resting orders are
+ * stored, how much trade history is retained, and how large the book is
+ * expected to get.
+ *
+ * Built via the Builder; unset fields keep the defaults (tree sides, heap
+ * order store, a ring of the last 10 000 trades, 1024 expected orders,
+ * eager cancellation, 64 pooled price levels).
+ */
+public final class BookConfig {
+
+    public static final int        DEFAULT_RETAINED_TRADES  = 10_000;
+    public static final double     DEFAULT_COMPACTION_RATIO = 0.5;
+    public static final int        DEFAULT_LEVEL_POOL_SIZE  = 64;
+    public static final BookConfig DEFAULT                  = new Builder().build();
+
+    /**
+     * How a cancel leaves its price level.
+     *
+     *   EAGER → unlinked immediately (default)
+     *   LAZY  → tombstoned in place; dead entries are skipped by matching
+     *           and freed when they reach the head or the level is compacted
+     */
+    public enum CancelMode { EAGER, LAZY }
+
+    private final BookSide.Factory   sides;
+    private final OrderStore.Factory orderStore;
+    private final TradeStore.Factory tradeRetention;
+    private final int                expectedOrders;
+    private final CancelMode         cancelMode;
+    private final double             compactionRatio;
+    private final int                levelPoolSize;
+
+    private BookConfig(Builder b) {
+        this.sides           = b.sides;
+        this.orderStore      = b.orderStore;
+        this.tradeRetention  = b.tradeRetention;
+        this.expectedOrders  = b.expectedOrders;
+        this.cancelMode      = b.cancelMode;
+        this.compactionRatio = b.compactionRatio;
+        this.levelPoolSize   = b.levelPoolSize;
+    }
+
+    public BookSide.Factory   getSides()           { return sides; }
+    public OrderStore.Factory getOrderStore()      { return orderStore; }
+    public TradeStore.Factory getTradeRetention()  { return tradeRetention; }
+    public int                getExpectedOrders()  { return expectedOrders; }
+    public CancelMode         getCancelMode()      { return cancelMode; }
+    public double             getCompactionRatio() { return compactionRatio; }
+    public int                getLevelPoolSize()   { return levelPoolSize; }
+
+    /** A builder seeded with this configuration, for deriving variants. */
+    public Builder toBuilder() {
+        return new Builder()
+                .sides(sides)
+                .orderStore(orderStore)
+                .tradeRetention(tradeRetention)
+                .expectedOrders(expectedOrders)
+                .cancelMode(cancelMode)
+                .compactionRatio(compactionRatio)
+                .levelPoolSize(levelPoolSize);
+    }
+
+    // ── Builder ───────────────────────────────────────────────────────────────
+
+    public static class Builder {
+        private BookSide.Factory   sides           = BookSide.tree();
+        private OrderStore.Factory orderStore      = OrderStore.heap();
+        private TradeStore.Factory tradeRetention  = TradeStore.ring(DEFAULT_RETAINED_TRADES);
+        private int                expectedOrders  = 1024;
+        private CancelMode         cancelMode      = CancelMode.EAGER;
+        private double             compactionRatio = DEFAULT_COMPACTION_RATIO;
+        private int                levelPoolSize   = DEFAULT_LEVEL_POOL_SIZE;
+
+        public Builder sides(BookSide.Factory v) {
+            if (v == null) throw new IllegalArgumentException("sides must not be null");
+            sides = v; return this;
+        }
+
+        public Builder orderStore(OrderStore.Factory v) {
+            if (v == null) throw new IllegalArgumentException("orderStore must not be null");
+            orderStore = v; return this;
+        }
+
+        public Builder tradeRetention(TradeStore.Factory v) {
+            if (v == null) throw new IllegalArgumentException("tradeRetention must not be null");
+            tradeRetention = v; return this;
+        }
+
+        /** Resting-order count to pre-size the order store and its index for. */
+        public Builder expectedOrders(int v) {
+            if (v <= 0) throw new IllegalArgumentException("expectedOrders must be positive: " + v);
+            expectedOrders = v; return this;
+        }
+
+        public Builder cancelMode(CancelMode v) {
+            if (v == null) throw new IllegalArgumentException("cancelMode must not be null");
+            cancelMode = v; return this;
+        }
+
+        /**
+         * LAZY mode only: compact a level once tombstones exceed this fraction
+         * of its entries. Lower keeps levels tighter at the cost of more
+         * frequent walks.
+         */
+        public Builder compactionRatio(double v) {
+            if (!(v > 0.0 && v < 1.0))
+                throw new IllegalArgumentException("compactionRatio must be in (0, 1): " + v);
+            compactionRatio = v; return this;
+        }
+
+        /** Emptied price levels kept per book for reuse (see PriceLevelPool). */
+        public Builder levelPoolSize(int v) {
+            if (v <= 0) throw new IllegalArgumentException("levelPoolSize must be positive: " + v);
+            levelPoolSize = v; return this;
+        }
+
+        public BookConfig build() { return new BookConfig(this); }
+    }
+}
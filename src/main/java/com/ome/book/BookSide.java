@@ -0,0 +1,124 @@
+package com.ome.book;
+
+import com.ome.model.Side;
+
+/**
+ * One side (bids or asks) of an OrderBook: the set of live price levels,
+ * ordered best-first.
+ *
+ * OrderBook owns all matching logic and only talks to its two sides through
+ * this interface, so the storage behind a side can be chosen per symbol:
+ *
+ *   tree()        → TreeBookSide   — sorted map, any price, O(log P)
+ *   ladder(width) → LadderBookSide — tick-indexed array around a reference
+ *                                    price, O(1) inside the band
+ *   hybrid(width) → LadderBookSide — the same band kept centred on the touch,
+ *                                    far levels in a sorted overflow map
+ *
+ * Contract: getOrCreate() is always followed by an enqueue on the returned
+ * level, remove() is only called once a level has become empty, and every
+ * change to a level's total quantity is reported via onQuantityChanged().
+ * A level passed to remove() may be recycled through the book's
+ * PriceLevelPool, so callers must not touch it afterwards.
+ */
+public interface BookSide extends Iterable<PriceLevel> {
+
+    /** Which side of the book this is (BUY = bids, SELL = asks). */
+    Side side();
+
+    boolean isEmpty();
+
+    /** Number of live (non-empty) price levels. */
+    int levelCount();
+
+    /** Best level (highest bid / lowest ask), or null when the side is empty. */
+    PriceLevel best();
+
+    /**
+     * Next live level worse than the given one, or null. Lets callers walk
+     * the side best-first without allocating an iterator.
+     */
+    PriceLevel next(PriceLevel level);
+
+    /** Live level at this price, or null. */
+    PriceLevel get(long priceTicks);
+
+    /** Live level at this price, creating it if needed. */
+    PriceLevel getOrCreate(long priceTicks);
+
+    /** Drop a level that has just become empty. */
+    void remove(PriceLevel level);
+
+    /**
+     * A live level's total quantity has just changed by delta (rest, fill or
+     * cancel). Sides that keep a cumulative index update it here.
+     */
+    default void onQuantityChanged(PriceLevel level, long delta) { }
+
+    /**
+     * Total resting quantity at levels priced at or better than limitTicks.
+     * May stop counting once the total reaches enough, so callers that only
+     * need "at least N?" pay for no more than that.
+     *
+     * The default walks levels best-first: O(levels crossed).
+     */
+    default long quantityThrough(long limitTicks, long enough) {
+        long total = 0;
+        for (PriceLevel level = best(); level != null; level = next(level)) {
+            if (isBetter(limitTicks, level.getPriceTicks())) break;
+            total += level.getTotalQty();
+            if (total >= enough) break;
+        }
+        return total;
+    }
+
+    /** Exact total resting quantity at levels priced at or better than limitTicks. */
+    default long quantityThrough(long limitTicks) {
+        return quantityThrough(limitTicks, Long.MAX_VALUE);
+    }
+
+    /**
+     * Is price a strictly better than price b on this side?
+     */
+    default boolean isBetter(long a, long b) {
+        return side() == Side.BUY ? a > b : a < b;
+    }
+
+    // ── Factories ─────────────────────────────────────────────────────────────
+
+    /**
+     * Creates the storage for one side of a new book. MatchingEngine holds
+     * one of these per symbol. Both sides of a book get the same level pool.
+     */
+    @FunctionalInterface
+    interface Factory {
+        BookSide create(Side side, PriceLevelPool levels);
+    }
+
+    static Factory tree() {
+        return TreeBookSide::new;
+    }
+
+    /**
+     * @param widthTicks number of tick slots in the dense band
+     */
+    static Factory ladder(int widthTicks) {
+        if (widthTicks <= 0)
+            throw new IllegalArgumentException("Ladder width must be positive. Got: " + widthTicks);
+        return (side, levels) -> new LadderBookSide(side, widthTicks, levels);
+    }
+
+    /**
+     * Dense band that follows the touch, for symbols whose resting orders
+     * have a long tail of far prices: O(1) near the best price, O(log F)
+     * for the F far levels, with levels promoted and demoted as the touch
+     * moves.
+     *
+     * @param widthTicks number of tick slots in the dense band
+     */
+    static Factory hybrid(int widthTicks) {
+        if (widthTicks <= 0)
+            throw new IllegalArgumentException("Hybrid width must be positive. Got: " + widthTicks);
+        return (side, levels) -> new LadderBookSide(side, widthTicks, levels, true);
+    }
+}
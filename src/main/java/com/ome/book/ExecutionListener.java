@@ -0,0 +1,25 @@
+package com.ome.book;
+
+import com.ome.model.Side;
+
+/**
+ * Receives fills from OrderBook as primitive fields, one call per execution.
+ *
+ * This is the allocation-free alternative to the List<Trade> returned by
+ * OrderBook.addOrder(Order): no Trade object, no list, no timestamp
+ * objects. Implementations are called synchronously on the matching thread
+ * and should be equally allocation-free if the whole path is to stay so.
+ */
+@FunctionalInterface
+public interface ExecutionListener {
+
+    /**
+     * @param makerOrderId resting order that provided liquidity
+     * @param takerOrderId incoming order that crossed the spread
+     * @param takerSide    side of the incoming order (BUY ⇒ maker is the seller)
+     * @param priceTicks   execution price — always the maker's price
+     * @param quantity     quantity filled in this execution
+     */
+    void onExecution(long makerOrderId, long takerOrderId, Side takerSide,
+                     long priceTicks, int quantity);
+}
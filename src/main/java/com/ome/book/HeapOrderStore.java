@@ -0,0 +1,100 @@
+package com.ome.book;
+
+import com.ome.model.Order;
+import com.ome.model.Side;
+
+import java.util.Arrays;
+
+/**
+ * OrderStore that keeps the resting Order objects themselves.
+ *
+ * Reads go straight to the Order, fills update it (so callers holding the
+ * order see its status change), and queue links live in two int arrays
+ * indexed by handle. A pooled order is retained while it rests and released
+ * when it leaves the book.
+ */
+public class HeapOrderStore extends OrderStore {
+
+    private Order[]   orders;
+    private int[]     prev;
+    private int[]     next;
+    private int[]     ownerSlot;
+    private int[]     ownerPrev;
+    private int[]     ownerNext;
+    private boolean[] dead;
+
+    public HeapOrderStore(int expectedOrders) {
+        super(expectedOrders);
+        int capacity = Math.max(16, expectedOrders);
+        this.orders    = new Order[capacity];
+        this.prev      = new int[capacity];
+        this.next      = new int[capacity];
+        this.ownerSlot = new int[capacity];
+        this.ownerPrev = new int[capacity];
+        this.ownerNext = new int[capacity];
+        this.dead      = new boolean[capacity];
+    }
+
+    @Override
+    protected void ensureCapacity(int handles) {
+        if (handles <= orders.length) return;
+        int capacity = Math.max(handles, orders.length << 1);
+        orders    = Arrays.copyOf(orders, capacity);
+        prev      = Arrays.copyOf(prev, capacity);
+        next      = Arrays.copyOf(next, capacity);
+        ownerSlot = Arrays.copyOf(ownerSlot, capacity);
+        ownerPrev = Arrays.copyOf(ownerPrev, capacity);
+        ownerNext = Arrays.copyOf(ownerNext, capacity);
+        dead      = Arrays.copyOf(dead, capacity);
+    }
+
+    @Override
+    protected void write(int handle, Order order) {
+        order.retain();   // the book's reference
+        orders[handle]    = order;
+        prev[handle]      = NIL;
+        next[handle]      = NIL;
+        ownerSlot[handle] = NIL;
+        ownerPrev[handle] = NIL;
+        ownerNext[handle] = NIL;
+        dead[handle]      = false;
+    }
+
+    @Override
+    protected void clear(int handle) {
+        Order order = orders[handle];
+        orders[handle] = null;
+        order.release();
+    }
+
+    @Override public long orderId(int h)    { return orders[h].getOrderId(); }
+    @Override public Side side(int h)       { return orders[h].getSide(); }
+    @Override public long priceTicks(int h) { return orders[h].getPriceTicks(); }
+    @Override public int  remaining(int h)  { return orders[h].getRemainingQuantity(); }
+    @Override public long timestamp(int h)  { return orders[h].getTimestamp(); }
+
+    @Override public void fill(int h, int qty) { orders[h].fill(qty); }
+    @Override public void cancel(int h)         { orders[h].cancel(); }
+
+    @Override public boolean isDead(int h)             { return dead[h]; }
+    @Override public void    setDead(int h, boolean d) { dead[h] = d; }
+
+    @Override
+    public void amend(int h, long priceTicks, int remaining) {
+        orders[h].amend(priceTicks, remaining);
+    }
+
+    @Override public int  prev(int h)                { return prev[h]; }
+    @Override public int  next(int h)                { return next[h]; }
+    @Override public void setPrev(int h, int p)      { prev[h] = p; }
+    @Override public void setNext(int h, int n)      { next[h] = n; }
+
+    @Override public int  ownerSlot(int h)           { return ownerSlot[h]; }
+    @Override public int  ownerPrev(int h)           { return ownerPrev[h]; }
+    @Override public int  ownerNext(int h)           { return ownerNext[h]; }
+    @Override public void setOwnerSlot(int h, int s) { ownerSlot[h] = s; }
+    @Override public void setOwnerPrev(int h, int p) { ownerPrev[h] = p; }
+    @Override public void setOwnerNext(int h, int n) { ownerNext[h] = n; }
+
+    @Override public Order order(int h)         { return orders[h]; }
+}
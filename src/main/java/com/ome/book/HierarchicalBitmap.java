@@ -0,0 +1,130 @@
+package com.ome.book;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size bitset with a summary hierarchy, for finding the next set bit
+ * in either direction without scanning the gap.
+ *
+ *   level 0 : one bit per slot
+ *   level k : one bit per non-zero word of level k-1
+ *   top     : a single word
+ *
+ * A search tests the word holding the start bit, climbs while the rest of
+ * the current word is empty, then descends with numberOfTrailingZeros /
+ * numberOfLeadingZeros. Cost is O(log64 N) — two levels cover 4 096 slots,
+ * three cover 262 144 — whatever the distance to the next set bit.
+ *
+ *   set / clear : O(depth), stops early once a summary bit is unaffected
+ *   next / prev : O(depth)
+ *
+ * Used by LadderBookSide to find the next live price slot when the best
+ * level empties. Not thread-safe.
+ */
+public class HierarchicalBitmap {
+
+    private final int      size;
+    private final long[][] levels;     // levels[0] = slot bits, last = single top word
+
+    public HierarchicalBitmap(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Bitmap size must be positive. Got: " + size);
+        this.size = size;
+
+        int depth = 1;
+        for (int bits = size; bits > 64; bits = (bits + 63) >>> 6) depth++;
+        levels = new long[depth][];
+        int bits = size;
+        for (int k = 0; k < depth; k++) {
+            levels[k] = new long[(bits + 63) >>> 6];
+            bits      = levels[k].length;
+        }
+    }
+
+    public void set(int i) {
+        for (long[] level : levels) {
+            int  w   = i >>> 6;
+            long old = level[w];
+            level[w] = old | (1L << i);
+            if (old != 0) return;           // parent bit already set
+            i = w;
+        }
+    }
+
+    public void clear(int i) {
+        for (long[] level : levels) {
+            int  w    = i >>> 6;
+            long word = level[w] & ~(1L << i);
+            level[w] = word;
+            if (word != 0) return;          // word still non-empty, parent unchanged
+            i = w;
+        }
+    }
+
+    public boolean get(int i) {
+        return (levels[0][i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void clearAll() {
+        for (long[] level : levels) Arrays.fill(level, 0L);
+    }
+
+    /**
+     * Lowest set index >= from, or -1.
+     */
+    public int next(int from) {
+        if (from >= size) return -1;
+        int i     = Math.max(from, 0);
+        int level = 0;
+
+        // Climb until some word holds a set bit at or after i
+        while (true) {
+            int  w    = i >>> 6;
+            long word = levels[level][w] & (-1L << i);
+            if (word != 0) {
+                i = (w << 6) + Long.numberOfTrailingZeros(word);
+                break;
+            }
+            if (++level == levels.length) return -1;
+            i = w + 1;
+            if ((i >>> 6) >= levels[level].length) return -1;
+        }
+
+        // Descend along the lowest set bit
+        while (level > 0) {
+            long word = levels[--level][i];
+            i = (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+        return i;
+    }
+
+    /**
+     * Highest set index <= from, or -1.
+     */
+    public int prev(int from) {
+        if (from < 0) return -1;
+        int i     = Math.min(from, size - 1);
+        int level = 0;
+
+        while (true) {
+            int  w    = i >>> 6;
+            long word = levels[level][w] & (-1L >>> (63 - (i & 63)));
+            if (word != 0) {
+                i = (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+                break;
+            }
+            if (++level == levels.length) return -1;
+            i = w - 1;
+            if (i < 0) return -1;
+        }
+
+        while (level > 0) {
+            long word = levels[--level][i];
+            i = (i << 6) + 63 - Long.numberOfLeadingZeros(word);
+        }
+        return i;
+    }
+
+    public int size()  { return size; }
+    public int depth() { return levels.length; }
+}
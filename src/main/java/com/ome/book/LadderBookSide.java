@@ -0,0 +1,349 @@
+package com.ome.book;
+
+import com.ome.model.Side;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * BookSide backed by a tick-indexed array of PriceLevel slots.
+ *
+ * Slot i holds the level at price (base + i). Inside the band every
+ * operation is an array access:
+ *   getOrCreate / get : O(1)
+ *   best              : O(1) — index of the best live slot is cached
+ *   remove            : O(1), plus an O(log64 W) bitmap search for the next
+ *                       live slot when the best level empties
+ *   quantityThrough   : O(log W) — Fenwick tree of level quantity by slot
+ *
+ * Emptied levels stay in their slot and are reused by the next order at
+ * that price, so flicker at the touch allocates nothing. Levels dropped from
+ * the overflow map or by a re-centre go back to the book's PriceLevelPool.
+ *
+ * Prices outside the band:
+ *   - if the band holds no live levels, it re-centres on the new price
+ *     (pulling in any overflow levels that now fit);
+ *   - otherwise the level goes to a sorted overflow map, and best() /
+ *     iteration merge the two so priority order is preserved.
+ *
+ * Tracking (BookSide.hybrid): the band also follows the touch while it
+ * holds live levels. A new best price beyond the band's better edge, or a
+ * best that has drifted more than a quarter of the width behind the centre,
+ * re-centres the band on the touch: live levels that fall off the far end
+ * are demoted to the overflow map and overflow levels that now fit are
+ * promoted. Each shift costs O(W + levels moved) and needs the touch to
+ * have moved at least W/4 ticks, so it amortises to O(1) per tick moved.
+ */
+public class LadderBookSide implements BookSide {
+
+    private final Side                      side;
+    private final int                       width;
+    private final int                       worseStep;  // slot direction away from the touch
+    private final boolean                   tracking;   // band follows the touch (hybrid)
+    private       PriceLevel[]              slots;
+    private       PriceLevel[]              spare;      // re-centre target, swapped with slots
+    private final long[]                    fenwick;    // 1-based cumulative qty over slots
+    private final HierarchicalBitmap        live;       // bit i set ⇔ slots[i] holds orders
+    private final TreeMap<Long, PriceLevel> overflow;
+    private final PriceLevelPool            pool;
+
+    private long    base;               // price (ticks) of slot 0
+    private boolean centred;            // false until the first price arrives
+    private int     bestIndex = -1;     // best live slot, -1 when the band is empty
+    private int     bandLevels;         // live levels inside the band
+
+    public LadderBookSide(Side side, int widthTicks) {
+        this(side, widthTicks, new PriceLevelPool(BookConfig.DEFAULT_LEVEL_POOL_SIZE));
+    }
+
+    public LadderBookSide(Side side, int widthTicks, PriceLevelPool pool) {
+        this(side, widthTicks, pool, false);
+    }
+
+    /**
+     * @param tracking true to keep the band centred on the touch as it moves
+     *                 (see BookSide.hybrid), false to re-centre only once the
+     *                 band has drained
+     */
+    public LadderBookSide(Side side, int widthTicks, PriceLevelPool pool, boolean tracking) {
+        this.side      = side;
+        this.pool      = pool;
+        this.width     = widthTicks;
+        this.worseStep = (side == Side.BUY) ? -1 : 1;
+        this.tracking  = tracking;
+        this.slots     = new PriceLevel[widthTicks];
+        this.spare     = new PriceLevel[widthTicks];
+        this.fenwick   = new long[widthTicks + 1];
+        this.live      = new HierarchicalBitmap(widthTicks);
+        this.overflow  = (side == Side.BUY)
+                ? new TreeMap<>(Comparator.reverseOrder())
+                : new TreeMap<>();
+    }
+
+    // ── BookSide ──────────────────────────────────────────────────────────────
+
+    @Override
+    public PriceLevel best() {
+        PriceLevel inBand = bestIndex >= 0 ? slots[bestIndex] : null;
+        if (overflow.isEmpty()) return inBand;
+
+        PriceLevel outOfBand = overflow.firstEntry().getValue();
+        if (inBand == null || isBetter(outOfBand.getPriceTicks(), inBand.getPriceTicks()))
+            return outOfBand;
+        return inBand;
+    }
+
+    @Override
+    public PriceLevel next(PriceLevel level) {
+        long price = level.getPriceTicks();
+
+        // First slot worse than price; clamp if price is better than the whole band
+        PriceLevel inBand   = null;
+        long       from     = price - base + worseStep;
+        boolean    pastBand = (worseStep > 0) ? from >= width : from < 0;
+        if (centred && !pastBand) {
+            int found = scanFrom((int) Math.max(0, Math.min(width - 1, from)));
+            if (found >= 0) inBand = slots[found];
+        }
+        if (overflow.isEmpty()) return inBand;
+
+        Map.Entry<Long, PriceLevel> far = overflow.higherEntry(price);
+        if (far == null) return inBand;
+        if (inBand == null || isBetter(far.getKey(), inBand.getPriceTicks())) return far.getValue();
+        return inBand;
+    }
+
+    @Override
+    public PriceLevel get(long priceTicks) {
+        int i = indexOf(priceTicks);
+        if (i < 0) return overflow.get(priceTicks);
+        PriceLevel level = slots[i];
+        return (level == null || level.isEmpty()) ? null : level;
+    }
+
+    @Override
+    public PriceLevel getOrCreate(long priceTicks) {
+        if (!centred
+                || (bandLevels == 0 && indexOf(priceTicks) < 0)
+                || (tracking && beyondBetterEdge(priceTicks))) {
+            recentre(priceTicks);
+        }
+
+        int i = indexOf(priceTicks);
+        if (i < 0) {
+            PriceLevel far = overflow.get(priceTicks);
+            if (far == null) {
+                far = pool.acquire(priceTicks);
+                overflow.put(priceTicks, far);
+            }
+            return far;
+        }
+
+        PriceLevel level = slots[i];
+        if (level == null) {
+            level    = pool.acquire(priceTicks);
+            slots[i] = level;
+        }
+        if (level.isEmpty()) {
+            // Level is about to become live
+            live.set(i);
+            bandLevels++;
+            if (bestIndex < 0 || isBetter(i, bestIndex)) bestIndex = i;
+        }
+        return level;
+    }
+
+    @Override
+    public void remove(PriceLevel level) {
+        int i = indexOf(level.getPriceTicks());
+        if (i >= 0 && slots[i] == level) {
+            live.clear(i);
+            bandLevels--;
+            if (i == bestIndex) bestIndex = scanFrom(i + worseStep);
+        } else if (overflow.remove(level.getPriceTicks(), level)) {
+            pool.release(level);
+        }
+
+        // Band drained but far levels remain — move the band to them
+        if (bandLevels == 0 && !overflow.isEmpty()) {
+            recentre(overflow.firstKey());
+        } else if (tracking && bestIndex >= 0 && (bestIndex - width / 2) * worseStep > width / 4) {
+            // Touch has receded well behind the centre — follow it
+            recentre(slots[bestIndex].getPriceTicks());
+        }
+    }
+
+    @Override
+    public void onQuantityChanged(PriceLevel level, long delta) {
+        int i = indexOf(level.getPriceTicks());
+        if (i >= 0 && slots[i] == level) fenwickAdd(i, delta);
+    }
+
+    /**
+     * Band levels come from two Fenwick prefix sums; overflow levels (rare by
+     * design) are added by walking the better-or-equal part of the map.
+     */
+    @Override
+    public long quantityThrough(long limitTicks, long enough) {
+        long total = 0;
+        if (centred) {
+            long offset = limitTicks - base;
+            if (side == Side.BUY) {
+                // Bids at or above the limit: slots [offset, width)
+                int from = (int) Math.max(0, Math.min(width, offset));
+                total = fenwickPrefix(width) - fenwickPrefix(from);
+            } else {
+                // Asks at or below the limit: slots [0, offset]
+                int to = (int) Math.max(0, Math.min(width, offset + 1));
+                total = fenwickPrefix(to);
+            }
+        }
+        if (total >= enough || overflow.isEmpty()) return total;
+
+        for (PriceLevel level : overflow.headMap(limitTicks, true).values()) {
+            total += level.getTotalQty();
+            if (total >= enough) break;
+        }
+        return total;
+    }
+
+    @Override
+    public Iterator<PriceLevel> iterator() {
+        return new LevelIterator();
+    }
+
+    @Override public Side    side()       { return side; }
+    @Override public boolean isEmpty()    { return bandLevels == 0 && overflow.isEmpty(); }
+    @Override public int     levelCount() { return bandLevels + overflow.size(); }
+
+    public long    getBase()           { return base; }
+    public int     getWidth()          { return width; }
+    public int     getOverflowLevels() { return overflow.size(); }
+    public boolean isTracking()        { return tracking; }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private int indexOf(long priceTicks) {
+        if (!centred) return -1;
+        long offset = priceTicks - base;
+        return (offset >= 0 && offset < width) ? (int) offset : -1;
+    }
+
+    /**
+     * First live slot starting at i and moving away from the touch, or -1.
+     * A bitmap search, so the size of the gap does not matter.
+     */
+    private int scanFrom(int i) {
+        return worseStep > 0 ? live.next(i) : live.prev(i);
+    }
+
+    /**
+     * Is priceTicks better than every slot of the band (a new touch the band
+     * cannot hold)?
+     */
+    private boolean beyondBetterEdge(long priceTicks) {
+        return side == Side.BUY ? priceTicks >= base + width : priceTicks < base;
+    }
+
+    /**
+     * Re-base the band so priceTicks sits in the middle. Live levels that
+     * still fit move to their new slot and the rest are demoted to the
+     * overflow map; emptied levels go back to the pool; overflow levels
+     * inside the new band are promoted.
+     */
+    private void recentre(long priceTicks) {
+        base       = priceTicks - width / 2;
+        centred    = true;
+        bestIndex  = -1;
+        bandLevels = 0;
+
+        PriceLevel[] target = spare;
+        for (int i = 0; i < width; i++) {
+            PriceLevel level = slots[i];
+            if (level == null) continue;
+            slots[i] = null;
+            if (level.isEmpty()) {
+                pool.release(level);
+                continue;
+            }
+            int j = indexOf(level.getPriceTicks());
+            if (j >= 0) target[j] = level;
+            else        overflow.put(level.getPriceTicks(), level);
+        }
+        spare = slots;
+        slots = target;
+
+        // Overflow is keyed in priority order, so the band is one sub-range of it
+        long lo = base, hi = base + width - 1;
+        Iterator<PriceLevel> it = (side == Side.BUY)
+                ? overflow.subMap(hi, true, lo, true).values().iterator()
+                : overflow.subMap(lo, true, hi, true).values().iterator();
+        while (it.hasNext()) {
+            PriceLevel level = it.next();
+            slots[indexOf(level.getPriceTicks())] = level;
+            it.remove();
+        }
+
+        Arrays.fill(fenwick, 0L);
+        live.clearAll();
+        for (int i = 0; i < width; i++) {
+            PriceLevel level = slots[i];
+            if (level == null) continue;
+            fenwick[i + 1] = level.getTotalQty();
+            live.set(i);
+            bandLevels++;
+            if (bestIndex < 0 || isBetter(i, bestIndex)) bestIndex = i;
+        }
+
+        // Linear-time build: push each node's partial sum up to its parent
+        for (int n = 1; n <= width; n++) {
+            int parent = n + (n & -n);
+            if (parent <= width) fenwick[parent] += fenwick[n];
+        }
+    }
+
+    private void fenwickAdd(int slot, long delta) {
+        for (int n = slot + 1; n <= width; n += n & -n) fenwick[n] += delta;
+    }
+
+    /** Sum of quantity in slots [0, count). */
+    private long fenwickPrefix(int count) {
+        long sum = 0;
+        for (int n = count; n > 0; n -= n & -n) sum += fenwick[n];
+        return sum;
+    }
+
+    /**
+     * Best-first merge of the band and the overflow map.
+     */
+    private final class LevelIterator implements Iterator<PriceLevel> {
+
+        private final Iterator<PriceLevel> far = overflow.values().iterator();
+        private int        slot    = bestIndex;
+        private PriceLevel nextFar = far.hasNext() ? far.next() : null;
+
+        @Override
+        public boolean hasNext() {
+            return slot >= 0 || nextFar != null;
+        }
+
+        @Override
+        public PriceLevel next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            PriceLevel inBand = slot >= 0 ? slots[slot] : null;
+            if (inBand != null && (nextFar == null
+                    || isBetter(inBand.getPriceTicks(), nextFar.getPriceTicks()))) {
+                slot = scanFrom(slot + worseStep);
+                return inBand;
+            }
+            PriceLevel result = nextFar;
+            nextFar = far.hasNext() ? far.next() : null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ome.book;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values.
+ *
+ * Built for the order index: no boxing, no per-entry node objects — keys and
+ * values live in two flat arrays.
+ *
+ *   Probing  : linear, with Fibonacci hashing to spread sequential order ids
+ *   Deletion : backward-shift — later entries in the probe run are moved up
+ *              into the hole, so no tombstones ever accumulate
+ *   Resize   : incremental — when the load factor is exceeded a table twice
+ *              the size is allocated and entries are migrated a few slots per
+ *              write, so no single put pays for a full rehash
+ *
+ * During a migration the old table is frozen (never re-probed or shifted);
+ * lookups consult the new table first, then the not-yet-migrated part of the
+ * old one. A write to a key still waiting in the old table marks that old
+ * slot as superseded so the migration will not copy a stale value over it.
+ *
+ * Key 0 is used as the empty marker internally and is stored out of band.
+ * Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final long  GOLDEN          = 0x9E3779B97F4A7C15L;
+    private static final long  EMPTY           = 0L;
+    private static final int   SUPERSEDED      = Integer.MIN_VALUE;
+    private static final int   MIGRATE_PER_OP  = 8;
+    private static final float LOAD_FACTOR     = 0.5f;
+
+    private final int missingValue;
+
+    // Live table
+    private long[] keys;
+    private int[]  values;
+    private int    shift;
+    private int    threshold;
+
+    // Table being drained during an incremental resize (null otherwise)
+    private long[] oldKeys;
+    private int[]  oldValues;
+    private int    oldShift;
+    private int    migrateCursor;
+
+    private boolean hasZeroKey;
+    private int     zeroValue;
+    private int     size;
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        if (missingValue == SUPERSEDED)
+            throw new IllegalArgumentException("Integer.MIN_VALUE is reserved.");
+        this.missingValue = missingValue;
+
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    // ── API ───────────────────────────────────────────────────────────────────
+
+    public int get(long key) {
+        if (key == EMPTY) return hasZeroKey ? zeroValue : missingValue;
+
+        int i = find(keys, shift, key);
+        if (i >= 0) return values[i];
+
+        if (oldKeys != null) {
+            int j = find(oldKeys, oldShift, key);
+            if (j >= migrateCursor && oldValues[j] != SUPERSEDED) return oldValues[j];
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    /**
+     * @return the previous value, or missingValue if the key was absent
+     */
+    public int put(long key, int value) {
+        if (value == SUPERSEDED)
+            throw new IllegalArgumentException("Integer.MIN_VALUE is reserved.");
+        if (key == EMPTY) {
+            int previous = hasZeroKey ? zeroValue : missingValue;
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue  = value;
+            return previous;
+        }
+
+        int previous = takeFromOldTable(key);
+
+        int i = slot(key, shift);
+        long[] k = keys;
+        while (k[i] != EMPTY) {
+            if (k[i] == key) {
+                int existing = values[i];
+                values[i] = value;
+                migrateStep();
+                return existing;
+            }
+            i = (i + 1) & (k.length - 1);
+        }
+        k[i]      = key;
+        values[i] = value;
+        if (previous == missingValue) size++;
+
+        migrateStep();
+        if (size > threshold && oldKeys == null) startResize();
+        return previous;
+    }
+
+    /**
+     * @return the removed value, or missingValue if the key was absent
+     */
+    public int remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) return missingValue;
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+
+        int previous = takeFromOldTable(key);
+
+        int i = find(keys, shift, key);
+        if (i >= 0) {
+            previous = values[i];
+            shiftBack(i);
+        }
+        if (previous != missingValue) size--;
+
+        migrateStep();
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        oldKeys    = null;
+        oldValues  = null;
+        hasZeroKey = false;
+        size       = 0;
+    }
+
+    public int     size()       { return size; }
+    public boolean isEmpty()    { return size == 0; }
+    public int     capacity()   { return keys.length; }
+    public boolean isResizing() { return oldKeys != null; }
+
+    // ── Probing ───────────────────────────────────────────────────────────────
+
+    private static int slot(long key, int shift) {
+        return (int) ((key * GOLDEN) >>> shift);
+    }
+
+    private static int find(long[] k, int shift, long key) {
+        int mask = k.length - 1;
+        for (int i = slot(key, shift); k[i] != EMPTY; i = (i + 1) & mask) {
+            if (k[i] == key) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion: walk the probe run after slot i and pull back
+     * any entry whose home slot is not cyclically within (i, j].
+     */
+    private void shiftBack(int i) {
+        long[] k    = keys;
+        int    mask = k.length - 1;
+        int    j    = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (k[j] == EMPTY) break;
+            int home = slot(k[j], shift);
+            boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+            if (stays) continue;
+            k[i]      = k[j];
+            values[i] = values[j];
+            i = j;
+        }
+        k[i] = EMPTY;
+    }
+
+    // ── Incremental Resize ────────────────────────────────────────────────────
+
+    private void allocate(int capacity) {
+        keys      = new long[capacity];
+        values    = new int[capacity];
+        shift     = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void startResize() {
+        oldKeys       = keys;
+        oldValues     = values;
+        oldShift      = shift;
+        migrateCursor = 0;
+        allocate(keys.length << 1);
+    }
+
+    /**
+     * If the key is still waiting in the old table, mark it superseded and
+     * return its value (the live table is authoritative from now on).
+     */
+    private int takeFromOldTable(long key) {
+        if (oldKeys == null) return missingValue;
+        int j = find(oldKeys, oldShift, key);
+        if (j < migrateCursor || oldValues[j] == SUPERSEDED) return missingValue;
+        int value = oldValues[j];
+        oldValues[j] = SUPERSEDED;
+        return value;
+    }
+
+    private void migrateStep() {
+        if (oldKeys == null) return;
+
+        int end = Math.min(migrateCursor + MIGRATE_PER_OP, oldKeys.length);
+        for (int j = migrateCursor; j < end; j++) {
+            long key = oldKeys[j];
+            if (key == EMPTY || oldValues[j] == SUPERSEDED) continue;
+            int i = slot(key, shift);
+            while (keys[i] != EMPTY) i = (i + 1) & (keys.length - 1);
+            keys[i]   = key;
+            values[i] = oldValues[j];
+        }
+        migrateCursor = end;
+
+        if (migrateCursor == oldKeys.length) {
+            oldKeys   = null;
+            oldValues = null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ome.book;
+
+import com.ome.model.Trade;
+
+import java.util.List;
+
+/**
+ * TradeStore that retains nothing — for books that only need matching and
+ * take their fills from the event stream.
+ */
+class NoTradeStore implements TradeStore {
+
+    private long total;
+
+    @Override public void        add(Trade trade)     { total++; }
+    @Override public List<Trade> history()            { return List.of(); }
+    @Override public long        getTotalRecorded()   { return total; }
+}
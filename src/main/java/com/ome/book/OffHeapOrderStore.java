@@ -0,0 +1,179 @@
+package com.ome.book;
+
+import com.ome.model.Order;
+import com.ome.model.Side;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * OrderStore that keeps resting orders as fixed-width records in direct
+ * (off-heap) memory instead of Order objects.
+ *
+ * Record layout, 56 bytes per handle:
+ *
+ *    0  long  order id
+ *    8  long  price ticks
+ *   16  long  timestamp (Order.getTimestamp, nanos)
+ *   24  int   remaining quantity
+ *   28  int   filled quantity
+ *   32  int   prev handle in level
+ *   36  int   next handle in level
+ *   40  int   owner slot (OwnerIndex), NIL if untagged
+ *   44  int   prev handle in owner list
+ *   48  int   next handle in owner list
+ *   52  byte  side (0 = BUY, 1 = SELL)
+ *   53  byte  flags (bit 0 = dead / tombstoned)
+ *   54  ...   padding
+ *
+ * Records live in chunks of CHUNK_RECORDS, so growing the store adds a chunk
+ * instead of copying everything already written. A resting book of N orders
+ * is N × 56 bytes the collector never traces, rather than N Order objects
+ * (plus their String/enum references) in the old generation.
+ *
+ * The Order handed to add() is copied, not retained, so a pooled order goes
+ * back to its pool as soon as its submitter releases it. Callers that need
+ * maker-side fills must take them from the ExecutionListener or the trade
+ * stream.
+ */
+public class OffHeapOrderStore extends OrderStore {
+
+    public static final int RECORD_BYTES = 56;
+
+    private static final int CHUNK_SHIFT   = 14;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;   // 16 384 records ≈ 896 KB
+    private static final int CHUNK_MASK    = CHUNK_RECORDS - 1;
+
+    private static final int ID         = 0;
+    private static final int PRICE      = 8;
+    private static final int TIMESTAMP  = 16;
+    private static final int REMAINING  = 24;
+    private static final int FILLED     = 28;
+    private static final int PREV       = 32;
+    private static final int NEXT       = 36;
+    private static final int OWNER      = 40;
+    private static final int OWNER_PREV = 44;
+    private static final int OWNER_NEXT = 48;
+    private static final int SIDE       = 52;
+    private static final int FLAGS      = 53;
+
+    private static final byte FLAG_DEAD = 1;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+
+    public OffHeapOrderStore(int expectedOrders) {
+        super(expectedOrders);
+        ensureCapacity(Math.max(1, expectedOrders));
+    }
+
+    @Override
+    protected void ensureCapacity(int handles) {
+        int needed = (handles + CHUNK_MASK) >>> CHUNK_SHIFT;
+        if (needed <= chunks.length) return;
+
+        int have = chunks.length;
+        chunks = Arrays.copyOf(chunks, needed);
+        for (int i = have; i < needed; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES)
+                                  .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Override
+    protected void write(int handle, Order order) {
+        ByteBuffer chunk = chunk(handle);
+        int        base  = offset(handle);
+        chunk.putLong(base + ID,         order.getOrderId());
+        chunk.putLong(base + PRICE,      order.getPriceTicks());
+        chunk.putLong(base + TIMESTAMP,  order.getTimestamp());
+        chunk.putInt (base + REMAINING,  order.getRemainingQuantity());
+        chunk.putInt (base + FILLED,     order.getFilledQuantity());
+        chunk.putInt (base + PREV,       NIL);
+        chunk.putInt (base + NEXT,       NIL);
+        chunk.putInt (base + OWNER,      NIL);
+        chunk.putInt (base + OWNER_PREV, NIL);
+        chunk.putInt (base + OWNER_NEXT, NIL);
+        chunk.put    (base + SIDE,       (byte) order.getSide().ordinal());
+        chunk.put    (base + FLAGS,      (byte) 0);
+        // No retain — the record is the book's copy, the Order stays the caller's
+    }
+
+    @Override
+    protected void clear(int handle) {
+        // Nothing to release — the slot is overwritten when the handle is reused
+    }
+
+    @Override public long orderId(int h)    { return chunk(h).getLong(offset(h) + ID); }
+    @Override public long priceTicks(int h) { return chunk(h).getLong(offset(h) + PRICE); }
+    @Override public long timestamp(int h)  { return chunk(h).getLong(offset(h) + TIMESTAMP); }
+    @Override public int  remaining(int h)  { return chunk(h).getInt(offset(h) + REMAINING); }
+    @Override public int  prev(int h)       { return chunk(h).getInt(offset(h) + PREV); }
+    @Override public int  next(int h)       { return chunk(h).getInt(offset(h) + NEXT); }
+
+    @Override
+    public Side side(int h) {
+        return chunk(h).get(offset(h) + SIDE) == 0 ? Side.BUY : Side.SELL;
+    }
+
+    /** Filled quantity so far — the off-heap counterpart of Order.getFilledQuantity(). */
+    public int filled(int h) { return chunk(h).getInt(offset(h) + FILLED); }
+
+    @Override
+    public void fill(int h, int qty) {
+        ByteBuffer chunk     = chunk(h);
+        int        base      = offset(h);
+        int        remaining = chunk.getInt(base + REMAINING);
+        if (qty <= 0 || qty > remaining)
+            throw new IllegalArgumentException("Invalid fill quantity: " + qty);
+        chunk.putInt(base + REMAINING, remaining - qty);
+        chunk.putInt(base + FILLED,    chunk.getInt(base + FILLED) + qty);
+    }
+
+    @Override
+    public void amend(int h, long priceTicks, int remaining) {
+        ByteBuffer chunk = chunk(h);
+        int        base  = offset(h);
+        chunk.putLong(base + PRICE,      priceTicks);
+        chunk.putInt (base + REMAINING,  remaining);
+    }
+
+    @Override
+    public void cancel(int h) {
+        // Status is not tracked off-heap; the record is removed right after
+    }
+
+    @Override
+    public boolean isDead(int h) {
+        return (chunk(h).get(offset(h) + FLAGS) & FLAG_DEAD) != 0;
+    }
+
+    @Override
+    public void setDead(int h, boolean dead) {
+        ByteBuffer chunk = chunk(h);
+        int        at    = offset(h) + FLAGS;
+        byte       flags = chunk.get(at);
+        chunk.put(at, (byte) (dead ? flags | FLAG_DEAD : flags & ~FLAG_DEAD));
+    }
+
+    @Override public void setPrev(int h, int p) { chunk(h).putInt(offset(h) + PREV, p); }
+    @Override public void setNext(int h, int n) { chunk(h).putInt(offset(h) + NEXT, n); }
+
+    @Override public int  ownerSlot(int h)           { return chunk(h).getInt(offset(h) + OWNER); }
+    @Override public int  ownerPrev(int h)           { return chunk(h).getInt(offset(h) + OWNER_PREV); }
+    @Override public int  ownerNext(int h)           { return chunk(h).getInt(offset(h) + OWNER_NEXT); }
+    @Override public void setOwnerSlot(int h, int s) { chunk(h).putInt(offset(h) + OWNER, s); }
+    @Override public void setOwnerPrev(int h, int p) { chunk(h).putInt(offset(h) + OWNER_PREV, p); }
+    @Override public void setOwnerNext(int h, int n) { chunk(h).putInt(offset(h) + OWNER_NEXT, n); }
+
+    @Override public Order order(int h) { return null; }
+
+    /** Direct memory reserved for records, in bytes. */
+    public long getReservedBytes() {
+        return (long) chunks.length * CHUNK_RECORDS * RECORD_BYTES;
+    }
+
+    private ByteBuffer chunk(int handle) { return chunks[handle >>> CHUNK_SHIFT]; }
+
+    private static int offset(int handle) { return (handle & CHUNK_MASK) * RECORD_BYTES; }
+}
@@ -1,7 +1,9 @@
 package com.ome.book;
 
 import com.ome.model.Order;
+import com.ome.model.OrderType;
 import com.ome.model.Side;
+import com.ome.model.TickSize;
 import com.ome.model.Trade;
 
 import java.util.*;
@@ -10,43 +12,107 @@ import java.util.*;
  * Single-symbol order book implementing strict price-time priority.
  *
  * Data structure choice:
- *   Bids → TreeMap<Double, PriceLevel> with DESCENDING comparator
- *           so firstKey() always returns the best (highest) bid.
- *   Asks → TreeMap<Double, PriceLevel> with natural (ASCENDING) order
- *           so firstKey() always returns the best (lowest) ask.
+ *   Bids and asks are each a BookSide, chosen per book via BookSide.Factory:
+ *     TreeBookSide   → TreeMap keyed on price ticks (default, any price)
+ *     LadderBookSide → tick-indexed array around a reference price, or
+ *                      (BookSide.hybrid) kept centred on the touch with far
+ *                      levels in a sorted overflow map
+ *   Resting orders live in an OrderStore and are linked into their level by
+ *   int handle:
+ *     HeapOrderStore    → the Order objects themselves (default)
+ *     OffHeapOrderStore → fixed-width records in direct memory
+ *   The matching logic below only asks a side for its best level and a level
+ *   for its head handle, so it is identical whichever storage is plugged in.
+ *   Levels that empty go back to a per-book PriceLevelPool, so churn at the
+ *   touch recycles levels instead of allocating them.
  *
- * Complexity:
- *   Add/Cancel order : O(log P) where P = number of distinct price levels
- *   Match order      : O(T log P) where T = number of trades generated
- *   Best bid/ask     : O(1) via firstKey()
+ * Cancellation (BookConfig.CancelMode):
+ *   EAGER → the order is unlinked from its level at once
+ *   LAZY  → the order is tombstoned in place and leaves the index, counters
+ *           and owner list at once; matching frees dead heads as it meets
+ *           them and a level is compacted past BookConfig.compactionRatio
  *
- * Note on floating-point prices:
- *   In production (e.g. Bloomberg), prices are represented as fixed-point
- *   integers (price × 10000) to eliminate rounding errors. We use double
- *   here for readability, which is fine for a simulation.
+ * Complexity (tree / ladder inside its band):
+ *   Add/Cancel order : O(log P) / O(log W) where P = number of distinct price
+ *                      levels, W = ladder width (cumulative-depth update)
+ *   Match order      : O(T log P) / O(T log W) where T = number of trades generated
+ *   Best bid/ask     : O(1)
+ *   Depth per side   : O(1) — order count and quantity maintained incrementally
+ *   Qty up to price  : O(levels crossed) / O(log W) — FOC check, depth queries
+ *
+ * Stop orders:
+ *   STOP / STOP_LIMIT orders wait in a StopIndex sorted by stop price. After
+ *   each book operation only the stops crossed by the last trade price are
+ *   taken out and matched (as MARKET / LIMIT), cascading until none is due.
+ *
+ * Trading phases:
+ *   Continuous (default) → every order is matched on arrival
+ *   Call auction         → beginAuction(); LIMIT orders rest without matching
+ *                          (the book may cross) until uncross() executes all
+ *                          crossing volume at one equilibrium price
+ *
+ * Fixed-point prices:
+ *   All prices inside the book are long ticks (see TickSize), so level
+ *   lookups and crossing checks are exact integer comparisons. The double
+ *   accessors below convert back at the edge for market data and display.
  */
 public class OrderBook {
 
-    private final String symbol;
+    private final String   symbol;
+    private final TickSize tickSize;
+
+    // best() = highest bid / lowest ask
+    private final BookSide       bids;
+    private final BookSide       asks;
+    private final PriceLevelPool levelPool;     // emptied levels, shared by both sides
+
+    // Resting orders by handle, indexed by order id for O(1) cancellation.
+    // Primitive open-addressing map underneath — no boxing, no entry nodes.
+    private final OrderStore orders;
+
+    // Owner → that owner's resting orders, for O(k) mass cancel
+    private final OwnerIndex owners;
 
-    // Best bid = first key (highest price)
-    private final TreeMap<Double, PriceLevel> bids =
-            new TreeMap<>(Comparator.reverseOrder());
+    // Pending STOP / STOP_LIMIT orders by stop price
+    private final StopIndex stops = new StopIndex();
 
-    // Best ask = first key (lowest price)
-    private final TreeMap<Double, PriceLevel> asks =
-            new TreeMap<>();
+    private final boolean lazyCancel;
+    private final double  compactionRatio;
 
-    // Index for O(1) order lookup during cancellation
-    private final Map<Long, Double> orderPriceIndex = new HashMap<>();
+    private boolean inAuction;
 
-    private final List<Trade>  tradeHistory   = new ArrayList<>();
-    private       double       lastTradePrice = 0.0;
-    private       long         totalVolume    = 0L;
-    private       double       totalTurnover  = 0.0;  // sum of (price × qty)
+    // Depth kept up to date by rest / sweep / cancel so queries are O(1)
+    private int  bidOrders;
+    private int  askOrders;
+    private long bidQuantity;
+    private long askQuantity;
+
+    private final TradeStore   tradeHistory;       // bounded; see BookConfig.tradeRetention
+    private       long         lastTradePriceTicks = 0L;
+    private       long         totalVolume         = 0L;
+    private       long         totalTurnoverTicks  = 0L;  // sum of (price ticks × qty)
+    private       long         tradeCount          = 0L;
 
     public OrderBook(String symbol) {
-        this.symbol = symbol;
+        this(symbol, BookSide.tree());
+    }
+
+    public OrderBook(String symbol, BookSide.Factory sides) {
+        this(symbol, new BookConfig.Builder().sides(sides).build());
+    }
+
+    public OrderBook(String symbol, BookConfig config) {
+        this.symbol       = symbol;
+        this.tickSize     = TickSize.forSymbol(symbol);
+        this.levelPool    = new PriceLevelPool(config.getLevelPoolSize());
+        this.bids         = config.getSides().create(Side.BUY, levelPool);
+        this.asks         = config.getSides().create(Side.SELL, levelPool);
+        this.orders       = config.getOrderStore().create(config.getExpectedOrders());
+        this.owners       = new OwnerIndex(orders);
+        this.tradeHistory = config.getTradeRetention().create(symbol);
+
+        this.lazyCancel      = config.getCancelMode() == BookConfig.CancelMode.LAZY;
+        this.compactionRatio = config.getCompactionRatio();
     }
 
     // ── Matching Interface ────────────────────────────────────────────────────
@@ -54,43 +120,353 @@ public class OrderBook {
     /**
      * Add an order to the book and attempt to match it.
      * Returns the list of trades generated (may be empty).
+     *
+     * Thin adapter over addOrder(Order, ExecutionListener) that materialises
+     * each fill as a Trade and records it in the trade history.
      */
     public List<Trade> addOrder(Order order) {
         List<Trade> trades = new ArrayList<>();
+        addOrder(order, recordingInto(trades));
+        return trades;
+    }
+
+    /**
+     * As addOrder(Order), appending the trades to the caller's list so a
+     * batch can collect into one.
+     */
+    public void addOrder(Order order, List<Trade> into) {
+        addOrder(order, recordingInto(into));
+    }
 
+    /**
+     * Add a batch of orders in arrival order, as if each were passed to
+     * addOrder(Order) in turn. Returns every trade generated, in order.
+     */
+    public List<Trade> addOrders(List<Order> batch) {
+        List<Trade>       trades   = new ArrayList<>();
+        ExecutionListener recorder = recordingInto(trades);
+        for (Order order : batch) addOrder(order, recorder);
+        return trades;
+    }
+
+    /**
+     * Add a fill that a caller materialised itself — e.g. the engine's pooled
+     * trade publisher on the listener path — to the trade history, so every
+     * matching path feeds the same history. The store retains pooled trades
+     * it keeps.
+     */
+    public void recordTrade(Trade trade) {
+        tradeHistory.add(trade);
+    }
+
+    /**
+     * Add an order to the book and attempt to match it, reporting each fill
+     * to the listener as primitive fields.
+     *
+     * Allocation-free in steady state with the ladder layout: no Trade, no
+     * list, no boxing. Fills reported this way are not added to the trade
+     * history — the listener owns what happens to them.
+     */
+    public void addOrder(Order order, ExecutionListener listener) {
+        if (inAuction && !order.getType().isStop()) {
+            collect(order);
+            return;
+        }
         switch (order.getType()) {
-            case LIMIT  -> matchLimit(order, trades);
-            case MARKET -> matchMarket(order, trades);
-            case IOC    -> matchIOC(order, trades);
-            case FOC    -> matchFOC(order, trades);
+            case LIMIT            -> matchLimit(order, listener);
+            case MARKET           -> matchMarket(order, listener);
+            case IOC              -> matchIOC(order, listener);
+            case FOC              -> matchFOC(order, listener);
+            case STOP, STOP_LIMIT -> stops.add(order);   // held until its stop price trades
         }
+        fireStops(listener);
+    }
 
-        return trades;
+    /**
+     * A resting order or pending stop by id, or null if there is none — or
+     * if the book keeps its orders off-heap, where no Order object exists.
+     */
+    public Order findOrder(long orderId) {
+        int handle = orders.handleOf(orderId);
+        return (handle == OrderStore.NIL) ? stops.get(orderId) : orders.order(handle);
     }
 
     /**
-     * Cancel a resting order by id. Returns true if found and cancelled.
+     * Cancel a resting order or pending stop by id. Returns true if found
+     * and cancelled.
      */
     public boolean cancelOrder(long orderId) {
-        Double price = orderPriceIndex.remove(orderId);
-        if (price == null) return false;
+        int handle = orders.handleOf(orderId);
+        if (handle == OrderStore.NIL) {
+            Order stop = stops.remove(orderId);
+            if (stop == null) return false;
+            dropStop(stop);
+            return true;
+        }
+
+        cancelResting(handle);
+        return true;
+    }
+
+    /**
+     * Cancel every order the owner has resting in this book, optionally only
+     * on one side. Walks the owner's own list, so the cost is proportional
+     * to their order count, not to the size of the book.
+     *
+     * @param side BUY or SELL to restrict the cancel, or null for both sides
+     * @return number of orders cancelled
+     */
+    public int massCancel(String owner, Side side) {
+        int cancelled = stops.size() == 0 ? 0 : stops.removeOwned(owner, side, this::dropStop);
+        int handle    = owners.first(owner);
+        while (handle != OrderStore.NIL) {
+            int next = orders.ownerNext(handle);
+            if (side == null || orders.side(handle) == side) {
+                cancelResting(handle);
+                cancelled++;
+            }
+            handle = next;
+        }
+        return cancelled;
+    }
+
+    public int massCancel(String owner) {
+        return massCancel(owner, null);
+    }
+
+    /**
+     * Amend a resting order's price and/or open quantity, reporting any fills
+     * to the listener. Returns false if the order is not resting.
+     *
+     *   Same price, quantity down : reduced in place — keeps its queue position
+     *   Price change or size up   : loses time priority; the order is re-matched
+     *                               at the new price (it may trade) and any
+     *                               remainder rests at the back of its new level
+     *
+     * Either way the order keeps its id and store handle, so the order index
+     * is never touched — one book operation instead of a cancel plus a new
+     * order.
+     *
+     * @param newQuantity new open (unfilled) quantity; must be positive
+     */
+    public boolean replaceOrder(long orderId, long newPriceTicks, int newQuantity,
+                                ExecutionListener listener) {
+        if (newPriceTicks <= 0)
+            throw new IllegalArgumentException("Replacement price must be positive. Got: " + newPriceTicks);
+        if (newQuantity <= 0)
+            throw new IllegalArgumentException("Replacement quantity must be positive. Got: " + newQuantity);
+
+        int handle = orders.handleOf(orderId);
+        if (handle == OrderStore.NIL) return false;
+
+        Side side      = orders.side(handle);
+        long price     = orders.priceTicks(handle);
+        int  remaining = orders.remaining(handle);
+
+        if (newPriceTicks == price && newQuantity <= remaining) {
+            int reduction = remaining - newQuantity;
+            if (reduction > 0) {
+                BookSide   book  = sideOf(side);
+                PriceLevel level = book.get(price);
+                orders.amend(handle, price, newQuantity);
+                level.adjustQuantity(-reduction);
+                book.onQuantityChanged(level, -reduction);
+                adjustDepth(side, 0, -reduction);
+            }
+            return true;
+        }
+
+        unlink(handle);
+        orders.amend(handle, newPriceTicks, newQuantity);
+
+        // During a call auction the amended order just re-queues, like a new one
+        int filled = inAuction ? 0
+                   : sweep(orderId, side, newPriceTicks, newQuantity, oppositeBook(side), listener, false);
+        if (filled > 0) orders.fill(handle, filled);
+
+        if (orders.remaining(handle) > 0) link(handle);
+        else                              discard(handle);
+        fireStops(listener);
+        return true;
+    }
+
+    /**
+     * Adapter over replaceOrder(..., ExecutionListener) that records fills in
+     * the trade history, like addOrder(Order).
+     */
+    public boolean replaceOrder(long orderId, long newPriceTicks, int newQuantity) {
+        return replaceOrder(orderId, newPriceTicks, newQuantity, recordingInto(new ArrayList<>()));
+    }
+
+    // ── Call Auction ──────────────────────────────────────────────────────────
+
+    /**
+     * Enter the call-auction phase: from now on LIMIT orders rest without
+     * matching and other order types are cancelled on arrival, until
+     * uncross(). Cancels and amends work as usual.
+     */
+    public void beginAuction() {
+        if (inAuction) throw new IllegalStateException(symbol + " is already in auction.");
+        inAuction = true;
+    }
+
+    /**
+     * Close the auction: execute all crossing volume at the equilibrium
+     * price and return to continuous matching. Fills are reported with the
+     * bid as taker (an auction has no aggressor). Returns the volume
+     * executed.
+     *
+     * The equilibrium price comes from one pass over the cumulative bid and
+     * ask curves (see equilibrium()); execution then pairs bids best-first
+     * with asks best-first, keeping time priority within each level, so it
+     * costs O(levels in the crossed range + fills).
+     *
+     * Fills go only to the listener; a listener that keeps them records
+     * them with recordTrade(), as uncross() and the engine's publisher do.
+     */
+    public long uncross(ExecutionListener listener) {
+        if (!inAuction) throw new IllegalStateException(symbol + " is not in auction.");
+        inAuction = false;
+
+        long[] eq = equilibrium();
+        long price = eq[0], volume = eq[1];
+        long left  = volume;
+        while (left > 0) {
+            PriceLevel bidLevel = bids.best();
+            PriceLevel askLevel = asks.best();
+            int        bid      = liveHead(bidLevel);
+            int        ask      = liveHead(askLevel);
+            int        qty      = (int) Math.min(left, Math.min(orders.remaining(bid), orders.remaining(ask)));
+
+            recordExecution(price, qty);
+            listener.onExecution(orders.orderId(ask), orders.orderId(bid), Side.BUY, price, qty);
+            left -= qty;
+
+            if (fillResting(bids, bidLevel, bid, qty)) dropLevel(bids, bidLevel);
+            if (fillResting(asks, askLevel, ask, qty)) dropLevel(asks, askLevel);
+        }
+        fireStops(listener);
+        return volume;
+    }
+
+    /**
+     * Adapter over uncross(ExecutionListener) that returns the trades and
+     * records them in the trade history.
+     */
+    public List<Trade> uncross() {
+        List<Trade> trades = new ArrayList<>();
+        uncross(recordingInto(trades));
+        return trades;
+    }
 
-        TreeMap<Double, PriceLevel> book = getBookForSide(null, price, orderId);
-        if (book == null) return false;
+    /** Price (ticks) an uncross would execute at now, or 0 if nothing crosses. */
+    public long getIndicativePriceTicks() { return equilibrium()[0]; }
 
-        PriceLevel level = book.get(price);
-        if (level == null) return false;
+    /** Volume an uncross would execute now. */
+    public long getIndicativeVolume()     { return equilibrium()[1]; }
 
-        boolean removed = level.remove(orderId);
-        if (level.isEmpty()) book.remove(price);
-        return removed;
+    public boolean isInAuction()          { return inAuction; }
+
+    /**
+     * Auction-phase entry: LIMIT orders rest as-is, anything else is
+     * cancelled — there is no price to match MARKET / IOC / FOC against
+     * until the uncross.
+     */
+    private void collect(Order order) {
+        if (order.getType() == OrderType.LIMIT) rest(order);
+        else                                    order.cancel();
+    }
+
+    /**
+     * Equilibrium price and volume as {priceTicks, volume}; {0, 0} when the
+     * book is not crossed.
+     *
+     * Candidate prices are the level prices in [best ask, best bid]. Walking
+     * them upwards, cumulative ask quantity (asks at or below p) only grows
+     * and cumulative bid quantity (bids at or above p) only shrinks, so one
+     * merge pass evaluates every candidate. The winner maximises executable
+     * volume min(bid, ask), then minimises the imbalance |bid - ask|, then
+     * is nearest the reference price (last trade, else the mid of the
+     * crossed touch), then is the lower price.
+     */
+    private long[] equilibrium() {
+        PriceLevel topBid = bids.best();
+        PriceLevel topAsk = asks.best();
+        if (topBid == null || topAsk == null
+                || topBid.getPriceTicks() < topAsk.getPriceTicks()) return new long[] {0, 0};
+        long hi = topBid.getPriceTicks();
+        long lo = topAsk.getPriceTicks();
+
+        // Crossed bid levels, best (highest) first; walked backwards below
+        int    nb        = 0;
+        long[] bidPrice  = new long[Math.max(1, bids.levelCount())];
+        long[] bidQty    = new long[bidPrice.length];
+        long   bidCum    = 0;
+        for (PriceLevel l = topBid; l != null && l.getPriceTicks() >= lo; l = bids.next(l)) {
+            bidPrice[nb] = l.getPriceTicks();
+            bidQty[nb++] = l.getTotalQty();
+            bidCum      += l.getTotalQty();
+        }
+
+        long reference = lastTradePriceTicks > 0 ? lastTradePriceTicks : (lo + hi) / 2;
+        long bestPrice = 0, bestVolume = 0, bestImbalance = 0, askCum = 0;
+        int  b         = nb - 1;
+        PriceLevel ask = topAsk;
+
+        while ((ask != null && ask.getPriceTicks() <= hi) || b >= 0) {
+            // Next candidate: the lower of the next ask price and the next bid price
+            long p = Long.MAX_VALUE;
+            if (ask != null && ask.getPriceTicks() <= hi) p = ask.getPriceTicks();
+            if (b >= 0) p = Math.min(p, bidPrice[b]);
+
+            while (ask != null && ask.getPriceTicks() <= p) {
+                askCum += ask.getTotalQty();
+                ask = asks.next(ask);
+            }
+            long volume    = Math.min(bidCum, askCum);
+            long imbalance = Math.abs(bidCum - askCum);
+            if (volume > bestVolume
+                    || (volume == bestVolume && volume > 0
+                        && (imbalance < bestImbalance
+                            || (imbalance == bestImbalance
+                                && Math.abs(p - reference) < Math.abs(bestPrice - reference))))) {
+                bestPrice     = p;
+                bestVolume    = volume;
+                bestImbalance = imbalance;
+            }
+            while (b >= 0 && bidPrice[b] <= p) bidCum -= bidQty[b--];   // bids at p drop out above p
+        }
+        return new long[] {bestPrice, bestVolume};
+    }
+
+    // ── Stop Orders ───────────────────────────────────────────────────────────
+
+    /**
+     * Match every stop the last trade price has crossed, in StopIndex order.
+     * A triggered stop may trade and move the price on, so this loops until
+     * nothing more is due. Never runs during an auction.
+     */
+    private void fireStops(ExecutionListener listener) {
+        if (inAuction) return;
+        Order stop;
+        while ((stop = stops.pollTriggered(lastTradePriceTicks)) != null) {
+            if (stop.getType() == OrderType.STOP) matchMarket(stop, listener);
+            else                                  matchLimit(stop, listener);
+            stop.release();   // the index's reference; a resting remainder holds its own
+        }
     }
 
+    private void dropStop(Order stop) {
+        stop.cancel();
+        stop.release();
+    }
+
+    public int getPendingStopCount() { return stops.size(); }
+
     // ── Order Type Matching ───────────────────────────────────────────────────
 
-    private void matchLimit(Order order, List<Trade> trades) {
-        TreeMap<Double, PriceLevel> opposite = oppositeBook(order.getSide());
-        sweep(order, opposite, trades, false /* respect price limit */);
+    private void matchLimit(Order order, ExecutionListener listener) {
+        take(order, listener, false /* respect price limit */);
 
         // Rest any unfilled remainder on the book
         if (!order.isFilled()) {
@@ -98,84 +474,122 @@ public class OrderBook {
         }
     }
 
-    private void matchMarket(Order order, List<Trade> trades) {
-        TreeMap<Double, PriceLevel> opposite = oppositeBook(order.getSide());
-        sweep(order, opposite, trades, true /* ignore price, take whatever's available */);
+    private void matchMarket(Order order, ExecutionListener listener) {
+        take(order, listener, true /* ignore price, take whatever's available */);
         // Remainder is discarded — MARKET orders never rest on the book
     }
 
-    private void matchIOC(Order order, List<Trade> trades) {
-        TreeMap<Double, PriceLevel> opposite = oppositeBook(order.getSide());
-        sweep(order, opposite, trades, false);
+    private void matchIOC(Order order, ExecutionListener listener) {
+        take(order, listener, false);
         // Cancel remainder immediately — no resting
         if (!order.isFilled()) {
             order.cancel();
         }
     }
 
-    private void matchFOC(Order order, List<Trade> trades) {
-        // Dry-run: check if the full quantity is available before touching the book
-        int available = availableQty(oppositeBook(order.getSide()), order);
+    private void matchFOC(Order order, ExecutionListener listener) {
+        // Dry-run: check if the full quantity is available before touching the book.
+        // One cumulative-depth query — O(log P) on a ladder side.
+        BookSide opposite  = oppositeBook(order.getSide());
+        long     available = opposite.quantityThrough(order.getPriceTicks(), order.getRemainingQuantity());
 
         if (available >= order.getRemainingQuantity()) {
-            sweep(order, oppositeBook(order.getSide()), trades, false);
+            take(order, listener, false);
         } else {
             // Not enough liquidity — cancel the entire order
             order.cancel();
         }
     }
 
+    /**
+     * Sweep on behalf of an incoming Order and apply its fills to it.
+     */
+    private void take(Order order, ExecutionListener listener, boolean ignorePrice) {
+        int filled = sweep(order.getOrderId(), order.getSide(), order.getPriceTicks(),
+                           order.getRemainingQuantity(), oppositeBook(order.getSide()),
+                           listener, ignorePrice);
+        if (filled > 0) order.fill(filled);
+    }
+
     // ── Core Sweep ────────────────────────────────────────────────────────────
 
     /**
      * Walk the opposite side of the book, generating trades until:
-     *   (a) the incoming order is fully filled, or
+     *   (a) the incoming quantity is fully filled, or
      *   (b) no more price levels are eligible.
      *
+     * The taker is described by primitives rather than an Order, so the same
+     * loop serves new orders and amended resting ones. Returns the quantity
+     * filled; applying it to the taker is the caller's job.
+     *
      * @param ignorePrice  true for MARKET orders (take any price)
      */
-    private void sweep(Order incoming,
-                       TreeMap<Double, PriceLevel> opposite,
-                       List<Trade> trades,
-                       boolean ignorePrice) {
-
-        Iterator<Map.Entry<Double, PriceLevel>> levelIterator =
-                opposite.entrySet().iterator();
-
-        while (levelIterator.hasNext() && !incoming.isFilled()) {
-            Map.Entry<Double, PriceLevel> entry = levelIterator.next();
-            double     levelPrice = entry.getKey();
-            PriceLevel level      = entry.getValue();
+    private int sweep(long takerId,
+                      Side takerSide,
+                      long limitTicks,
+                      int quantity,
+                      BookSide opposite,
+                      ExecutionListener listener,
+                      boolean ignorePrice) {
+
+        int left = quantity;
+        while (left > 0) {
+            PriceLevel level = opposite.best();
+            if (level == null) break;
+            long levelPrice = level.getPriceTicks();
 
             // Price-boundary check
-            if (!ignorePrice && !isPriceCrossed(incoming, levelPrice)) break;
+            if (!ignorePrice && !isPriceCrossed(takerSide, limitTicks, levelPrice)) break;
 
             // Match within this price level — strict FIFO (time priority)
-            while (!level.isEmpty() && !incoming.isFilled()) {
-                Order resting = level.peek();
-                int   fillQty = Math.min(incoming.getRemainingQuantity(),
-                                         resting.getRemainingQuantity());
+            while (!level.isEmpty() && left > 0) {
+                int resting = liveHead(level);
+                int fillQty = Math.min(left, orders.remaining(resting));
 
                 // Execution price = resting (maker) order's price — standard convention
-                Trade trade = createTrade(incoming, resting, levelPrice, fillQty);
-                trades.add(trade);
-                tradeHistory.add(trade);
-
-                // Update state
-                level.onFill(fillQty);
-                incoming.fill(fillQty);
-                resting.fill(fillQty);
-
-                // Clean up fully filled resting order
-                if (resting.isFilled()) {
-                    level.dequeue();
-                    orderPriceIndex.remove(resting.getOrderId());
-                }
+                recordExecution(levelPrice, fillQty);
+                listener.onExecution(orders.orderId(resting), takerId, takerSide, levelPrice, fillQty);
+
+                left -= fillQty;
+                fillResting(opposite, level, resting, fillQty);
             }
 
             // Clean up empty price level
-            if (level.isEmpty()) levelIterator.remove();
+            if (level.isEmpty()) dropLevel(opposite, level);
+        }
+        return quantity - left;
+    }
+
+    /**
+     * Apply a fill to the order at the head of a level, removing the order
+     * once it is done. Returns true if that left the level empty; dropping
+     * the level is the caller's job.
+     */
+    private boolean fillResting(BookSide book, PriceLevel level, int handle, int qty) {
+        level.adjustQuantity(-qty);
+        book.onQuantityChanged(level, -qty);
+        orders.fill(handle, qty);
+
+        boolean done = orders.remaining(handle) == 0;
+        adjustDepth(book.side(), done ? -1 : 0, -qty);
+        if (done) {
+            level.dequeue(orders);
+            discard(handle);
         }
+        return level.isEmpty();
+    }
+
+    /**
+     * Head of a non-empty level, first freeing any lazy-cancel tombstones
+     * in front of it.
+     */
+    private int liveHead(PriceLevel level) {
+        int head = level.peek();
+        while (level.hasTombstones() && orders.isDead(head)) {
+            level.purge(orders, head);
+            head = level.peek();
+        }
+        return head;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -185,83 +599,183 @@ public class OrderBook {
      *   BUY  order is eligible if its limit price >= ask level price
      *   SELL order is eligible if its limit price <= bid level price
      */
-    private boolean isPriceCrossed(Order incoming, double levelPrice) {
-        return incoming.getSide() == Side.BUY
-                ? incoming.getPrice() >= levelPrice
-                : incoming.getPrice() <= levelPrice;
+    private static boolean isPriceCrossed(Side takerSide, long limitTicks, long levelPrice) {
+        return takerSide == Side.BUY ? limitTicks >= levelPrice : limitTicks <= levelPrice;
     }
 
     /**
-     * Simulate total available quantity for FOC dry-run.
+     * Place a resting order at its price level on the correct side.
+     * A partially filled remainder keeps its PARTIALLY_FILLED status.
+     * The order store decides whether the book keeps the Order itself
+     * (retaining a pooled one) or only a copy of its terms.
      */
-    private int availableQty(TreeMap<Double, PriceLevel> opposite, Order order) {
-        int total = 0;
-        for (Map.Entry<Double, PriceLevel> entry : opposite.entrySet()) {
-            if (!isPriceCrossed(order, entry.getKey())) break;
-            total += entry.getValue().getTotalQty();
-            if (total >= order.getRemainingQuantity()) break; // short-circuit
-        }
-        return total;
+    private void rest(Order order) {
+        if (order.getFilledQuantity() == 0) order.markOpen();
+        int handle = orders.add(order);
+        owners.link(handle, order.getOwner());
+        link(handle);
     }
 
     /**
-     * Place a resting order at its price level on the correct side.
+     * Append a stored order to the back of the level at its price, updating
+     * the side's cumulative index and the depth counters.
      */
-    private void rest(Order order) {
-        TreeMap<Double, PriceLevel> book = (order.getSide() == Side.BUY) ? bids : asks;
-        book.computeIfAbsent(order.getPrice(), PriceLevel::new).enqueue(order);
-        orderPriceIndex.put(order.getOrderId(), order.getPrice());
-        order.markOpen();
+    private void link(int handle) {
+        BookSide   book  = sideOf(orders.side(handle));
+        PriceLevel level = book.getOrCreate(orders.priceTicks(handle));
+        int        qty   = orders.remaining(handle);
+        level.enqueue(orders, handle);
+        book.onQuantityChanged(level, qty);
+        adjustDepth(book.side(), 1, qty);
+    }
+
+    /**
+     * Take a stored order out of its level (dropping the level if it empties)
+     * without removing it from the store.
+     */
+    private void unlink(int handle) {
+        BookSide   book  = sideOf(orders.side(handle));
+        PriceLevel level = book.get(orders.priceTicks(handle));
+        int        qty   = orders.remaining(handle);
+        level.remove(orders, handle);
+        book.onQuantityChanged(level, -qty);
+        if (level.isEmpty()) dropLevel(book, level);
+        adjustDepth(book.side(), -1, -qty);
     }
 
-    private Trade createTrade(Order incoming, Order resting, double price, int qty) {
-        lastTradePrice = price;
-        totalVolume   += qty;
-        totalTurnover += price * qty;
+    /**
+     * Cancel a resting order: unlink it now (EAGER), or tombstone it in its
+     * level and compact the level once dead entries pass the ratio (LAZY).
+     * Either way it is out of the index, owner list and depth on return.
+     */
+    private void cancelResting(int handle) {
+        orders.cancel(handle);
+        if (!lazyCancel) {
+            unlink(handle);
+            discard(handle);
+            return;
+        }
 
-        long buyId  = (incoming.getSide() == Side.BUY)  ? incoming.getOrderId() : resting.getOrderId();
-        long sellId = (incoming.getSide() == Side.SELL) ? incoming.getOrderId() : resting.getOrderId();
+        BookSide   book  = sideOf(orders.side(handle));
+        PriceLevel level = book.get(orders.priceTicks(handle));
+        int        qty   = orders.remaining(handle);
+        owners.unlink(handle);
+        orders.unindex(handle);
+        level.tombstone(orders, handle);
+        book.onQuantityChanged(level, -qty);
+        adjustDepth(book.side(), -1, -qty);
+
+        if (level.isEmpty())                             dropLevel(book, level);
+        else if (level.needsCompaction(compactionRatio)) level.compact(orders);
+    }
 
-        return new Trade(symbol, buyId, sellId, price, qty);
+    /**
+     * Remove a level with no live orders left, freeing any tombstones first.
+     */
+    private void dropLevel(BookSide book, PriceLevel level) {
+        if (level.hasTombstones()) level.compact(orders);
+        book.remove(level);
     }
 
-    private TreeMap<Double, PriceLevel> oppositeBook(Side side) {
-        return side == Side.BUY ? asks : bids;
+    /**
+     * Drop an order that has left the book (filled or cancelled, already
+     * unlinked from its level) from the owner index and the store.
+     */
+    private void discard(int handle) {
+        owners.unlink(handle);
+        orders.remove(handle);
+    }
+
+    /**
+     * Listener that turns fills into Trades, adding each to the given list
+     * and to the trade history.
+     */
+    private ExecutionListener recordingInto(List<Trade> trades) {
+        return (makerId, takerId, takerSide, priceTicks, qty) -> {
+            long buyId  = (takerSide == Side.BUY)  ? takerId : makerId;
+            long sellId = (takerSide == Side.SELL) ? takerId : makerId;
+            Trade trade = new Trade(symbol, tickSize, buyId, sellId, priceTicks, qty);
+            trades.add(trade);
+            tradeHistory.add(trade);
+        };
     }
 
-    // Determine which side an order is on by searching both books
-    private TreeMap<Double, PriceLevel> getBookForSide(Side hint, double price, long orderId) {
-        if (bids.containsKey(price) && bids.get(price) != null) {
-            PriceLevel level = bids.get(price);
-            // Cheap check: does this level have any order with this id?
-            if (level.getTotalQty() >= 0) return bids; // try bids first
+    private void adjustDepth(Side side, int orderDelta, long qtyDelta) {
+        if (side == Side.BUY) {
+            bidOrders   += orderDelta;
+            bidQuantity += qtyDelta;
+        } else {
+            askOrders   += orderDelta;
+            askQuantity += qtyDelta;
         }
-        return asks;
+    }
+
+    private void recordExecution(long price, int qty) {
+        lastTradePriceTicks = price;
+        totalVolume        += qty;
+        totalTurnoverTicks += price * qty;
+        tradeCount++;
+    }
+
+    private BookSide sideOf(Side side) {
+        return side == Side.BUY ? bids : asks;
+    }
+
+    private BookSide oppositeBook(Side side) {
+        return side == Side.BUY ? asks : bids;
     }
 
     // ── Market Data Accessors ─────────────────────────────────────────────────
 
-    public double getBestBid()       { return bids.isEmpty() ? 0 : bids.firstKey(); }
-    public double getBestAsk()       { return asks.isEmpty() ? 0 : asks.firstKey(); }
+    public long   getBestBidTicks()        { return bids.isEmpty() ? 0 : bids.best().getPriceTicks(); }
+    public long   getBestAskTicks()        { return asks.isEmpty() ? 0 : asks.best().getPriceTicks(); }
+    public long   getLastTradePriceTicks() { return lastTradePriceTicks; }
+
+    public double getBestBid()       { return tickSize.toPrice(getBestBidTicks()); }
+    public double getBestAsk()       { return tickSize.toPrice(getBestAskTicks()); }
     public double getSpread()        {
         return (bids.isEmpty() || asks.isEmpty()) ? Double.NaN
-                : getBestAsk() - getBestBid();
+                : tickSize.toPrice(getBestAskTicks() - getBestBidTicks());
     }
     public double getMidPrice()      {
         return (bids.isEmpty() || asks.isEmpty()) ? Double.NaN
-                : (getBestBid() + getBestAsk()) / 2.0;
+                : tickSize.toPrice(getBestBidTicks() + getBestAskTicks()) / 2.0;
     }
-    public double getLastTradePrice() { return lastTradePrice; }
+    public double getLastTradePrice() { return tickSize.toPrice(lastTradePriceTicks); }
     public long   getTotalVolume()    { return totalVolume; }
-    public double getTotalTurnover()  { return totalTurnover; }
+    public long   getTradeCount()     { return tradeCount; }
+    public double getTotalTurnover()  { return tickSize.toPrice(totalTurnoverTicks); }
     public double getVWAP()           {
-        return totalVolume == 0 ? 0 : totalTurnover / totalVolume;
+        return totalVolume == 0 ? 0 : tickSize.toPrice(totalTurnoverTicks) / totalVolume;
     }
     public String          getSymbol()      { return symbol; }
-    public List<Trade>     getTradeHistory(){ return Collections.unmodifiableList(tradeHistory); }
+    public TickSize        getTickSize()    { return tickSize; }
+    public List<Trade>     getTradeHistory(){ return tradeHistory.history(); }
+    public TradeStore      getTradeStore()  { return tradeHistory; }
+    public PriceLevelPool  getLevelPool()   { return levelPool; }
+
+    public int  getBidDepth()    { return bidOrders; }
+    public int  getAskDepth()    { return askOrders; }
+    public long getBidQuantity() { return bidQuantity; }
+    public long getAskQuantity() { return askQuantity; }
+
+    /** Bid quantity resting at or above priceTicks — what a sell limited there could hit. */
+    public long getBidQuantityThrough(long priceTicks) { return bids.quantityThrough(priceTicks); }
+
+    /** Ask quantity resting at or below priceTicks — what a buy limited there could lift. */
+    public long getAskQuantityThrough(long priceTicks) { return asks.quantityThrough(priceTicks); }
 
-    public int getBidDepth()  { return bids.values().stream().mapToInt(PriceLevel::getOrderCount).sum(); }
-    public int getAskDepth()  { return asks.values().stream().mapToInt(PriceLevel::getOrderCount).sum(); }
+    /** Orders the owner currently has resting in this book. */
+    public int getOwnerOrderCount(String owner) { return owners.count(owner); }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /**
+     * Flush and close the trade store (matters for spill-to-disk retention).
+     */
+    public void close() {
+        tradeHistory.close();
+    }
 
     // ── Display ───────────────────────────────────────────────────────────────
 
@@ -278,11 +792,12 @@ public class OrderBook {
         System.out.println("├───────────────┼───────────────┼─────────────────────┤");
 
         // Print asks in reverse (highest first → looks like a real terminal)
-        List<Map.Entry<Double, PriceLevel>> askEntries = new ArrayList<>(asks.entrySet());
-        Collections.reverse(askEntries);
-        for (Map.Entry<Double, PriceLevel> e : askEntries) {
+        List<PriceLevel> askLevels = new ArrayList<>();
+        asks.forEach(askLevels::add);
+        Collections.reverse(askLevels);
+        for (PriceLevel level : askLevels) {
             System.out.printf("│  %10.2f   │  %10d   │  %-19s│%n",
-                    e.getKey(), e.getValue().getTotalQty(), "ASK 🔴");
+                    tickSize.toPrice(level.getPriceTicks()), level.getTotalQty(), "ASK 🔴");
         }
 
         // Spread line
@@ -294,14 +809,14 @@ public class OrderBook {
         System.out.println("├───────────────┼───────────────┼─────────────────────┤");
 
         // Print bids (highest first)
-        for (Map.Entry<Double, PriceLevel> e : bids.entrySet()) {
+        for (PriceLevel level : bids) {
             System.out.printf("│  %10.2f   │  %10d   │  %-19s│%n",
-                    e.getKey(), e.getValue().getTotalQty(), "BID 🟢");
+                    tickSize.toPrice(level.getPriceTicks()), level.getTotalQty(), "BID 🟢");
         }
 
         System.out.println("├───────────────┴───────────────┴─────────────────────┤");
         System.out.printf("│  Last: %-8.2f  Vol: %-10d  VWAP: %-10.2f   │%n",
-                lastTradePrice, totalVolume,
+                getLastTradePrice(), totalVolume,
                 getVWAP() == 0 ? 0 : getVWAP());
         System.out.println("└─────────────────────────────────────────────────────┘");
         System.out.println();
@@ -0,0 +1,158 @@
+package com.ome.book;
+
+import com.ome.model.Order;
+import com.ome.model.Side;
+
+/**
+ * Storage for the orders resting in one OrderBook, addressed by int handle.
+ *
+ *   order id ──LongIntHashMap──▶ handle ──▶ record
+ *
+ * A record holds what matching needs (id, side, price ticks, remaining qty,
+ * timestamp) plus the prev/next handles that chain it into its PriceLevel's
+ * FIFO queue, and a second pair chaining it into its owner's list (see
+ * OwnerIndex). PriceLevel and OrderBook only ever see handles, so the same
+ * matching code runs over either implementation:
+ *
+ *   HeapOrderStore    — handle → the live Order object, links in int arrays.
+ *                       Order status is updated as it fills (default).
+ *   OffHeapOrderStore — fixed-width records in direct memory. The Order
+ *                       object is not kept once it rests, so maker-side
+ *                       state lives only here (fills are reported through
+ *                       ExecutionListener / trades as usual).
+ *
+ * Handles are recycled through a free list; steady-state add/remove
+ * allocates nothing. Not thread-safe — owned by the book's matching thread.
+ */
+public abstract class OrderStore {
+
+    public static final int NIL = -1;
+
+    private final LongIntHashMap index;
+    private       int[]          freeHandles;
+    private       int            freeCount;
+    private       int            highWater;    // handles [0, highWater) have been handed out
+
+    protected OrderStore(int expectedOrders) {
+        int capacity     = Math.max(16, expectedOrders);
+        this.index       = new LongIntHashMap(capacity, NIL);
+        this.freeHandles = new int[capacity];
+    }
+
+    // ── Factories ─────────────────────────────────────────────────────────────
+
+    @FunctionalInterface
+    public interface Factory {
+        OrderStore create(int expectedOrders);
+    }
+
+    public static Factory heap() {
+        return HeapOrderStore::new;
+    }
+
+    public static Factory offHeap() {
+        return OffHeapOrderStore::new;
+    }
+
+    // ── Index & Handle Lifecycle ──────────────────────────────────────────────
+
+    /**
+     * Store a newly resting order and index it by id. Returns its handle.
+     */
+    public final int add(Order order) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = highWater++;
+            ensureCapacity(highWater);
+            if (highWater > freeHandles.length)
+                freeHandles = java.util.Arrays.copyOf(freeHandles, freeHandles.length << 1);
+        }
+        write(handle, order);
+        index.put(order.getOrderId(), handle);
+        return handle;
+    }
+
+    /** Handle of a resting order, or NIL. */
+    public final int handleOf(long orderId) {
+        return index.get(orderId);
+    }
+
+    /**
+     * Drop a record that has left the book (filled or cancelled) and recycle
+     * its handle. The caller has already unlinked it from its level.
+     */
+    public final void remove(int handle) {
+        unindex(handle);
+        free(handle);
+    }
+
+    /**
+     * First half of remove(): the order can no longer be found by id, but
+     * its record and links stay valid — used for lazy-cancel tombstones.
+     */
+    public final void unindex(int handle) {
+        index.remove(orderId(handle));
+    }
+
+    /**
+     * Second half of remove(): release the record and recycle its handle.
+     * The order must already be unindexed and unlinked from its level.
+     */
+    public final void free(int handle) {
+        clear(handle);
+        freeHandles[freeCount++] = handle;
+    }
+
+    public final int size() { return index.size(); }
+
+    // ── Record Storage (implementation-specific) ──────────────────────────────
+
+    /** Make sure handles below the given bound are addressable. */
+    protected abstract void ensureCapacity(int handles);
+
+    /** Initialise the record for a newly resting order. */
+    protected abstract void write(int handle, Order order);
+
+    /** Release whatever the record holds once it leaves the book. */
+    protected abstract void clear(int handle);
+
+    public abstract long orderId(int handle);
+    public abstract Side side(int handle);
+    public abstract long priceTicks(int handle);
+    public abstract int  remaining(int handle);
+    public abstract long timestamp(int handle);
+
+    /** Apply a fill to the resting order. */
+    public abstract void fill(int handle, int qty);
+
+    /** Change a resting order's price and open quantity in place (amend). */
+    public abstract void amend(int handle, long priceTicks, int remaining);
+
+    /** Mark the resting order cancelled (before it is removed). */
+    public abstract void cancel(int handle);
+
+    /** Tombstone flag: cancelled but still linked into its level (lazy cancel). */
+    public abstract boolean isDead(int handle);
+    public abstract void    setDead(int handle, boolean dead);
+
+    public abstract int  prev(int handle);
+    public abstract int  next(int handle);
+    public abstract void setPrev(int handle, int prev);
+    public abstract void setNext(int handle, int next);
+
+    // Owner links — maintained by OwnerIndex; slot is NIL for untagged orders
+    public abstract int  ownerSlot(int handle);
+    public abstract int  ownerPrev(int handle);
+    public abstract int  ownerNext(int handle);
+    public abstract void setOwnerSlot(int handle, int slot);
+    public abstract void setOwnerPrev(int handle, int prev);
+    public abstract void setOwnerNext(int handle, int next);
+
+    /**
+     * The live Order behind a handle, or null when the store does not keep
+     * Order objects (off-heap).
+     */
+    public abstract Order order(int handle);
+}
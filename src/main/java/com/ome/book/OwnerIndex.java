@@ -0,0 +1,89 @@
+package com.ome.book;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-owner index of the orders resting in one OrderBook.
+ *
+ *   owner ──HashMap──▶ slot ──heads[]──▶ handle ⇄ handle ⇄ …
+ *
+ * Each owner gets a small int slot the first time it rests an order, and
+ * its orders are chained through the owner links in their OrderStore
+ * records — intrusive like the level queues, so link / unlink is O(1) and
+ * walking one owner's orders is O(k) in their count, independent of book
+ * size. Slots are kept for the book's lifetime; participants and sessions
+ * are few compared to orders.
+ */
+final class OwnerIndex {
+
+    private final OrderStore           store;
+    private final Map<String, Integer> slots  = new HashMap<>();
+    private       int[]                heads  = new int[8];
+    private       int[]                counts = new int[8];
+
+    OwnerIndex(OrderStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Chain a newly stored order onto its owner's list. Untagged orders
+     * (owner == null) are left out of the index.
+     */
+    void link(int handle, String owner) {
+        if (owner == null) return;
+        int slot = slotFor(owner);
+        int head = heads[slot];
+
+        store.setOwnerSlot(handle, slot);
+        store.setOwnerPrev(handle, OrderStore.NIL);
+        store.setOwnerNext(handle, head);
+        if (head != OrderStore.NIL) store.setOwnerPrev(head, handle);
+        heads[slot] = handle;
+        counts[slot]++;
+    }
+
+    /**
+     * Take an order off its owner's list before it leaves the store.
+     */
+    void unlink(int handle) {
+        int slot = store.ownerSlot(handle);
+        if (slot == OrderStore.NIL) return;
+        int prev = store.ownerPrev(handle);
+        int next = store.ownerNext(handle);
+
+        if (prev == OrderStore.NIL) heads[slot] = next;
+        else                        store.setOwnerNext(prev, next);
+        if (next != OrderStore.NIL) store.setOwnerPrev(next, prev);
+
+        store.setOwnerSlot(handle, OrderStore.NIL);
+        counts[slot]--;
+    }
+
+    /** Handle of one of the owner's resting orders, or NIL. Continue with store.ownerNext(). */
+    int first(String owner) {
+        Integer slot = slots.get(owner);
+        return slot == null ? OrderStore.NIL : heads[slot];
+    }
+
+    /** Number of the owner's orders resting in this book. */
+    int count(String owner) {
+        Integer slot = slots.get(owner);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    private int slotFor(String owner) {
+        Integer slot = slots.get(owner);
+        if (slot != null) return slot;
+
+        int next = slots.size();
+        if (next == heads.length) {
+            heads  = Arrays.copyOf(heads, next << 1);
+            counts = Arrays.copyOf(counts, next << 1);
+        }
+        heads[next] = OrderStore.NIL;
+        slots.put(owner, next);
+        return next;
+    }
+}
@@ -1,86 +1,165 @@
 package com.ome.book;
 
-import com.ome.model.Order;
-
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.Iterator;
-
 /**
  * Represents all resting orders at a single price level.
  *
- * Internally uses an ArrayDeque for O(1) head access and O(1) append,
- * giving us FIFO (time-priority) matching within a price level.
+ * Internally an intrusive doubly-linked list of OrderStore handles: each
+ * record carries its own prev/next links, so the level only holds head and
+ * tail. The store is passed in rather than held, keeping a level to a few
+ * primitive fields whichever storage the book uses.
+ *   enqueue (append at tail) : O(1)
+ *   peek / dequeue (head)    : O(1) — FIFO time priority for matching
+ *   remove (any order)       : O(1) — unlink via the record's own links
+ *   tombstone (lazy cancel)  : O(1) — flag the record dead where it sits
+ *
+ * Tombstones: a book in lazy-cancel mode marks cancelled orders dead
+ * instead of unlinking them, so a cancel writes only the order's own
+ * record and never its neighbours'. Live count and quantity drop at once;
+ * the dead node is freed when it reaches the head during a sweep, or when
+ * compact() runs (the book triggers it on a dead-ratio threshold, and when
+ * the last live order leaves). Counts below are always live-only.
  *
  * Tracks aggregated quantity so the order book display is O(1).
  */
 public class PriceLevel {
 
-    private final double       price;
-    private final Deque<Order> orders;
-    private       int          totalQuantity;
+    private long priceTicks;            // fixed while live; reassigned on reuse
+    private int  head = OrderStore.NIL;
+    private int  tail = OrderStore.NIL;
+    private int  orderCount;            // live orders
+    private int  deadCount;             // tombstones still linked
+    private int  totalQuantity;         // live quantity
+
+    public PriceLevel(long priceTicks) {
+        this.priceTicks    = priceTicks;
+        this.totalQuantity = 0;
+    }
 
-    public PriceLevel(double price) {
-        this.price         = price;
-        this.orders        = new ArrayDeque<>();
+    /**
+     * Re-arm an emptied level for another price (PriceLevelPool reuse).
+     */
+    void reset(long priceTicks) {
+        this.priceTicks    = priceTicks;
+        this.head          = OrderStore.NIL;
+        this.tail          = OrderStore.NIL;
+        this.orderCount    = 0;
+        this.deadCount     = 0;
         this.totalQuantity = 0;
     }
 
     /**
      * Add a new resting order to the back of the queue (time priority).
      */
-    public void enqueue(Order order) {
-        orders.addLast(order);
-        totalQuantity += order.getRemainingQuantity();
+    public void enqueue(OrderStore store, int handle) {
+        store.setPrev(handle, tail);
+        store.setNext(handle, OrderStore.NIL);
+        if (tail == OrderStore.NIL) head = handle;
+        else                        store.setNext(tail, handle);
+        tail = handle;
+
+        orderCount++;
+        totalQuantity += store.remaining(handle);
     }
 
     /**
      * Peek at the oldest (highest priority) order without removing it.
+     * Returns its handle, or OrderStore.NIL when the level is empty.
      */
-    public Order peek() {
-        return orders.peekFirst();
+    public int peek() {
+        return head;
     }
 
     /**
      * Remove the oldest (fully filled) order from the front.
      */
-    public Order dequeue() {
-        Order o = orders.pollFirst();
-        if (o != null) totalQuantity -= o.getRemainingQuantity();
-        return o;
+    public int dequeue(OrderStore store) {
+        int h = head;
+        if (h != OrderStore.NIL) remove(store, h);
+        return h;
+    }
+
+    /**
+     * Notify this level that a resting order's open quantity changed in
+     * place — a fill on the head order, or an amend that reduces size.
+     */
+    public void adjustQuantity(int delta) {
+        totalQuantity += delta;
+    }
+
+    /**
+     * Unlink a specific order (for cancellations). The caller guarantees the
+     * order is resting at this level — the order index provides that.
+     */
+    public void remove(OrderStore store, int handle) {
+        unlinkNode(store, handle);
+        orderCount--;
+        totalQuantity -= store.remaining(handle);
+    }
+
+    // ── Tombstones (lazy cancel) ──────────────────────────────────────────────
+
+    /**
+     * Mark a live order dead in place. The caller has already taken it out
+     * of the order index; the level frees it later.
+     */
+    public void tombstone(OrderStore store, int handle) {
+        store.setDead(handle, true);
+        orderCount--;
+        deadCount++;
+        totalQuantity -= store.remaining(handle);
     }
 
     /**
-     * Notify this level that some quantity was filled on the head order.
+     * Unlink a tombstone and return its handle to the store.
      */
-    public void onFill(int qty) {
-        totalQuantity -= qty;
+    public void purge(OrderStore store, int handle) {
+        unlinkNode(store, handle);
+        deadCount--;
+        store.free(handle);
     }
 
     /**
-     * Remove a specific order by id (for cancellations).
+     * Free every tombstone in the level. O(length of the level).
      */
-    public boolean remove(long orderId) {
-        Iterator<Order> it = orders.iterator();
-        while (it.hasNext()) {
-            Order o = it.next();
-            if (o.getOrderId() == orderId) {
-                totalQuantity -= o.getRemainingQuantity();
-                it.remove();
-                return true;
-            }
+    public void compact(OrderStore store) {
+        int h = head;
+        while (h != OrderStore.NIL && deadCount > 0) {
+            int next = store.next(h);
+            if (store.isDead(h)) purge(store, h);
+            h = next;
         }
-        return false;
     }
 
-    public boolean   isEmpty()       { return orders.isEmpty(); }
-    public int       getOrderCount() { return orders.size(); }
+    /**
+     * Do tombstones make up more than the given fraction of the level?
+     */
+    public boolean needsCompaction(double deadRatio) {
+        return deadCount > 0 && deadCount > deadRatio * (deadCount + orderCount);
+    }
+
+    private void unlinkNode(OrderStore store, int handle) {
+        int prev = store.prev(handle);
+        int next = store.next(handle);
+
+        if (prev == OrderStore.NIL) head = next;
+        else                        store.setNext(prev, next);
+        if (next == OrderStore.NIL) tail = prev;
+        else                        store.setPrev(next, prev);
+
+        store.setPrev(handle, OrderStore.NIL);
+        store.setNext(handle, OrderStore.NIL);
+    }
+
+    public boolean   isEmpty()       { return orderCount == 0; }
+    public boolean   hasTombstones() { return deadCount > 0; }
+    public int       getDeadCount()  { return deadCount; }
+    public int       getOrderCount() { return orderCount; }
     public int       getTotalQty()   { return totalQuantity; }
-    public double    getPrice()      { return price; }
+    public long      getPriceTicks() { return priceTicks; }
 
     @Override
     public String toString() {
-        return String.format("PriceLevel[%.2f | qty=%d | orders=%d]",
-                price, totalQuantity, orders.size());
+        return String.format("PriceLevel[%d ticks | qty=%d | orders=%d]",
+                priceTicks, totalQuantity, orderCount);
     }
 }
@@ -0,0 +1,61 @@
+package com.ome.book;
+
+/**
+ * Free list of emptied PriceLevels, shared by the two sides of one book.
+ *
+ * When the touch flickers — the inside level empties and the next order
+ * at that price brings it back — the side takes a reset level from here
+ * instead of allocating a new one. Hits and misses are counted so the
+ * pool can be sized from a run.
+ *
+ * Confined to its book like the rest of the book's state, so there is no
+ * locking; ObjectPool is the thread-safe pool for objects that cross
+ * threads.
+ */
+public final class PriceLevelPool {
+
+    private final PriceLevel[] free;
+    private       int          available;
+    private       long         hits;
+    private       long         misses;
+    private       long         discarded;
+
+    public PriceLevelPool(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Level pool capacity must be positive. Got: " + capacity);
+        this.free = new PriceLevel[capacity];
+    }
+
+    /** An empty level at this price — recycled if one is free, else new. */
+    public PriceLevel acquire(long priceTicks) {
+        if (available == 0) {
+            misses++;
+            return new PriceLevel(priceTicks);
+        }
+        hits++;
+        PriceLevel level = free[--available];
+        free[available] = null;
+        level.reset(priceTicks);
+        return level;
+    }
+
+    /**
+     * Return a level its side has just dropped. It must hold no orders and
+     * no tombstones, and nothing may reference it afterwards.
+     */
+    public void release(PriceLevel level) {
+        if (available < free.length) free[available++] = level;
+        else                         discarded++;
+    }
+
+    public int  getAvailable() { return available; }
+    public long getHits()      { return hits; }
+    public long getMisses()    { return misses; }
+    public long getDiscarded() { return discarded; }
+
+    @Override
+    public String toString() {
+        return String.format("PriceLevelPool[available=%d | hits=%d | misses=%d | discarded=%d]",
+                available, hits, misses, discarded);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ome.book;
+
+import com.ome.model.Trade;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * TradeStore keeping the most recent trades in a fixed-size ring.
+ *
+ * The array is allocated once; once full, each new trade overwrites the
+ * oldest. history() is a live view over the ring, not a copy. Pooled trades
+ * are retained while in the ring and released when overwritten.
+ */
+public class RingTradeStore implements TradeStore {
+
+    private final Trade[] ring;
+    private       long    total;    // trades ever added; next write goes to total % capacity
+
+    public RingTradeStore(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Ring capacity must be positive: " + capacity);
+        this.ring = new Trade[capacity];
+    }
+
+    @Override
+    public void add(Trade trade) {
+        int   slot    = (int) (total % ring.length);
+        Trade evicted = ring[slot];
+        trade.retain();
+        ring[slot] = trade;
+        total++;
+        if (evicted != null) evicted.release();
+    }
+
+    @Override
+    public List<Trade> history() {
+        return new AbstractList<>() {
+            @Override
+            public Trade get(int index) {
+                int size = size();
+                if (index < 0 || index >= size)
+                    throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+                long oldest = total - size;
+                return ring[(int) ((oldest + index) % ring.length)];
+            }
+
+            @Override
+            public int size() {
+                return (int) Math.min(total, ring.length);
+            }
+        };
+    }
+
+    @Override public long getTotalRecorded() { return total; }
+
+    public int getCapacity() { return ring.length; }
+}
@@ -0,0 +1,200 @@
+package com.ome.book;
+
+import com.ome.model.Trade;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TradeStore that appends every trade to a CSV file and keeps only the most
+ * recent ones in memory.
+ *
+ * One line per trade:
+ *   tradeId,symbol,buyOrderId,sellOrderId,priceTicks,quantity,epochMillis,timestampNanos
+ *
+ *   add    : matching thread copies the trade's primitives into a
+ *            pre-allocated ring slot and publishes it — no formatting, no I/O
+ *   writer : one background thread per store formats published slots and
+ *            writes them through a large buffer
+ *
+ * The matching thread is the only producer, so a slot is claimed with a
+ * plain increment. A trade file must be complete, so when the writer falls
+ * a whole ring behind the matching thread waits for it rather than drop a
+ * line. history() shows the in-memory tail; the file has the full day once
+ * flush() or close() returns. A write error stops further writes and is
+ * rethrown from flush() / close().
+ */
+public class SpillingTradeStore implements TradeStore {
+
+    private static final int    DEFAULT_SPILL_CAPACITY = 16_384;
+    private static final int    STRIDE                 = 7;    // tradeId, buy, sell, price, qty, millis, nanos
+    private static final int    WRITE_BUFFER           = 1 << 16;
+    private static final long   IDLE_PARK_NANOS        = 1_000_000;
+    private static final long   FULL_PARK_NANOS        = 10_000;
+    private static final String HEADER                 =
+            "tradeId,symbol,buyOrderId,sellOrderId,priceTicks,quantity,epochMillis,timestampNanos";
+
+    private final Path           file;
+    private final RingTradeStore recent;
+    private final BufferedWriter out;
+    private final int            mask;
+    private final long[]         values;
+    private final String[]       symbols;
+    private final AtomicLong     published = new AtomicLong(-1);   // last slot handed to the writer
+    private final AtomicLong     written   = new AtomicLong(-1);   // last slot the writer is done with
+    private final Thread         writer;
+    private       long           claimed   = -1;                   // matching thread only
+    private volatile boolean     running   = true;
+    private volatile IOException failure;
+
+    public SpillingTradeStore(Path file, int recentCapacity) {
+        this(file, recentCapacity, DEFAULT_SPILL_CAPACITY);
+    }
+
+    /**
+     * @param spillCapacity trades buffered for the writer before add() waits, a power of two
+     */
+    public SpillingTradeStore(Path file, int recentCapacity, int spillCapacity) {
+        if (spillCapacity <= 0 || Integer.bitCount(spillCapacity) != 1)
+            throw new IllegalArgumentException("Spill capacity must be a power of two. Got: " + spillCapacity);
+        this.file    = file;
+        this.recent  = new RingTradeStore(recentCapacity);
+        this.mask    = spillCapacity - 1;
+        this.values  = new long[spillCapacity * STRIDE];
+        this.symbols = new String[spillCapacity];
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            boolean fresh = Files.notExists(file) || Files.size(file) == 0;
+            this.out = new BufferedWriter(
+                    Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                    WRITE_BUFFER);
+            if (fresh) {
+                out.write(HEADER);
+                out.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trade spill file " + file, e);
+        }
+        this.writer = new Thread(this::drain, "TradeSpill-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void add(Trade trade) {
+        recent.add(trade);
+
+        long sequence = claimed + 1;
+        while (sequence - symbols.length > written.get()) {           // ring full: wait, never drop
+            if (!writer.isAlive())
+                throw new IllegalStateException("Trade spill writer for " + file + " has stopped.");
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        int slot = (int) (sequence & mask);
+        int base = slot * STRIDE;
+        values[base]     = trade.getTradeId();
+        values[base + 1] = trade.getBuyOrderId();
+        values[base + 2] = trade.getSellOrderId();
+        values[base + 3] = trade.getExecutionPriceTicks();
+        values[base + 4] = trade.getQuantity();
+        values[base + 5] = trade.getEpochMillis();
+        values[base + 6] = trade.getTimestampNanos();
+        symbols[slot]    = trade.getSymbol();
+        claimed          = sequence;
+        published.lazySet(sequence);                                  // release: slot writes happen-before
+    }
+
+    @Override public List<Trade> history()          { return recent.history(); }
+    @Override public long        getTotalRecorded() { return recent.getTotalRecorded(); }
+
+    /**
+     * Wait until every trade added so far has been written, then push the
+     * buffered lines to the file without closing it.
+     */
+    public void flush() {
+        long target = published.get();
+        while (written.get() < target && writer.isAlive()) LockSupport.parkNanos(FULL_PARK_NANOS);
+        synchronized (out) {
+            try {
+                if (failure == null) out.flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        rethrowFailure("Failed to flush ");
+    }
+
+    /**
+     * Write everything added so far, stop the writer and close the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+        rethrowFailure("Failed to close ");
+    }
+
+    public Path getFile() { return file; }
+
+    // ── Writer Loop ───────────────────────────────────────────────────────────
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(96);
+        long          next = 0;
+        while (running || next <= published.get()) {
+            long last = published.get();
+            if (last < next) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            synchronized (out) {
+                for (long s = next; s <= last; s++) write(line, (int) (s & mask));
+            }
+            written.lazySet(last);                                    // frees the slots for add()
+            next = last + 1;
+        }
+    }
+
+    private void write(StringBuilder line, int slot) {
+        int base = slot * STRIDE;
+        line.setLength(0);
+        line.append(values[base]).append(',')
+            .append(symbols[slot]).append(',')
+            .append(values[base + 1]).append(',')
+            .append(values[base + 2]).append(',')
+            .append(values[base + 3]).append(',')
+            .append(values[base + 4]).append(',')
+            .append(values[base + 5]).append(',')
+            .append(values[base + 6]);
+        if (failure != null) return;                                  // keep draining so add() never blocks
+        try {
+            out.append(line);
+            out.newLine();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void rethrowFailure(String what) {
+        IOException e = failure;
+        if (e != null) throw new UncheckedIOException(what + file, e);
+    }
+}
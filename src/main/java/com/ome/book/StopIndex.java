@@ -0,0 +1,253 @@
+package com.ome.book;
+
+import com.ome.model.Order;
+import com.ome.model.Side;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pending STOP / STOP_LIMIT orders of one OrderBook, sorted by stop price.
+ *
+ *   buy stops  → trigger once last trade >= stop, lowest first
+ *   sell stops → trigger once last trade <= stop, highest first
+ *
+ * Each side is a sorted array of stop prices with the next stop to
+ * trigger at the end, so checking after a trade is two comparisons and
+ * popping a triggered level is O(1); only triggered stops are touched.
+ * Stops at the same price trigger in arrival order; when a buy and a sell
+ * stop are both due, the one with the lower order id goes first. That
+ * makes the re-injection order a function of the order flow alone.
+ *
+ *   id    ──LongIntHashMap──▶ slot
+ *   price ──sorted long[]───▶ slot ⇄ slot ⇄ …   (arrival order)
+ *   owner ──HashMap────────▶ slot ⇄ slot ⇄ …   (like OwnerIndex)
+ *
+ * Stops live in flat slot arrays with intrusive links — no boxed keys, no
+ * per-stop nodes — and an owner's mass cancel walks only that owner's
+ * chain, O(their stops).
+ *
+ * Holds a reference (retain) on each pending order; whoever takes an order
+ * out via pollTriggered() or remove() takes that reference over.
+ */
+final class StopIndex {
+
+    private static final int NIL = -1;
+
+    private final LongIntHashMap       byId        = new LongIntHashMap(64, NIL);
+    private final Ladder               buys        = new Ladder();
+    private final Ladder               sells       = new Ladder();
+    private final Map<String, Integer> ownerSlots  = new HashMap<>();
+    private       int[]                ownerHeads  = new int[8];
+
+    // Slot storage — a free slot's next link chains the free list
+    private Order[] orders    = new Order[16];
+    private int[]   next      = new int[16];
+    private int[]   prev      = new int[16];
+    private int[]   ownerNext = new int[16];
+    private int[]   ownerPrev = new int[16];
+    private int[]   ownerOf   = new int[16];
+    private int     free      = NIL;
+    private int     used;
+    private int     size;
+
+    void add(Order order) {
+        order.retain();
+        int slot = allocate(order);
+        byId.put(order.getOrderId(), slot);
+        ladderOf(order.getSide()).append(keyOf(order), slot);
+        linkOwner(slot, order.getOwner());
+        size++;
+    }
+
+    /**
+     * Next stop triggered by a last trade at lastPriceTicks, removed from the
+     * index, or null. No trade yet (lastPriceTicks == 0) triggers nothing.
+     */
+    Order pollTriggered(long lastPriceTicks) {
+        if (lastPriceTicks <= 0 || size == 0) return null;
+
+        int buy  = (buys.levels  > 0 && -buys.bestKey() <= lastPriceTicks) ? buys.bestHead()  : NIL;
+        int sell = (sells.levels > 0 && sells.bestKey() >= lastPriceTicks) ? sells.bestHead() : NIL;
+        if (buy == NIL && sell == NIL) return null;
+
+        boolean buyFirst = sell == NIL || (buy != NIL && orders[buy].getOrderId() < orders[sell].getOrderId());
+        return take(buyFirst ? buy : sell);
+    }
+
+    /** A pending stop by id, left in the index. Null if it is not pending. */
+    Order get(long orderId) {
+        int slot = byId.get(orderId);
+        return slot == NIL ? null : orders[slot];
+    }
+
+    /** Take a pending stop out by id (cancel). Null if it is not pending. */
+    Order remove(long orderId) {
+        int slot = byId.get(orderId);
+        return slot == NIL ? null : take(slot);
+    }
+
+    /**
+     * Take out every pending stop of the owner, optionally on one side only,
+     * and hand each to the callback. O(the owner's pending stops).
+     */
+    int removeOwned(String owner, Side side, Consumer<Order> taken) {
+        Integer ownerSlot = ownerSlots.get(owner);
+        if (ownerSlot == null) return 0;
+
+        int removed = 0;
+        int slot    = ownerHeads[ownerSlot];
+        while (slot != NIL) {
+            int   following = ownerNext[slot];
+            Order order     = orders[slot];
+            if (side == null || order.getSide() == side) {
+                taken.accept(take(slot));
+                removed++;
+            }
+            slot = following;
+        }
+        return removed;
+    }
+
+    int size() { return size; }
+
+    // ── Private Helpers ───────────────────────────────────────────────────────
+
+    /** Unlink a slot from every index, free it and hand back its order. */
+    private Order take(int slot) {
+        Order order = orders[slot];
+        byId.remove(order.getOrderId());
+        ladderOf(order.getSide()).unlink(keyOf(order), slot);
+        unlinkOwner(slot);
+        orders[slot] = null;
+        next[slot]   = free;
+        free         = slot;
+        size--;
+        return order;
+    }
+
+    private int allocate(Order order) {
+        int slot;
+        if (free != NIL) {
+            slot = free;
+            free = next[slot];
+        } else {
+            if (used == orders.length) grow();
+            slot = used++;
+        }
+        orders[slot] = order;
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = orders.length << 1;
+        orders    = Arrays.copyOf(orders, capacity);
+        next      = Arrays.copyOf(next, capacity);
+        prev      = Arrays.copyOf(prev, capacity);
+        ownerNext = Arrays.copyOf(ownerNext, capacity);
+        ownerPrev = Arrays.copyOf(ownerPrev, capacity);
+        ownerOf   = Arrays.copyOf(ownerOf, capacity);
+    }
+
+    private void linkOwner(int slot, String owner) {
+        ownerOf[slot] = NIL;
+        if (owner == null) return;
+
+        Integer ownerSlot = ownerSlots.get(owner);
+        if (ownerSlot == null) {
+            ownerSlot = ownerSlots.size();
+            if (ownerSlot == ownerHeads.length) ownerHeads = Arrays.copyOf(ownerHeads, ownerSlot << 1);
+            ownerHeads[ownerSlot] = NIL;
+            ownerSlots.put(owner, ownerSlot);
+        }
+        int head = ownerHeads[ownerSlot];
+        ownerOf[slot]   = ownerSlot;
+        ownerPrev[slot] = NIL;
+        ownerNext[slot] = head;
+        if (head != NIL) ownerPrev[head] = slot;
+        ownerHeads[ownerSlot] = slot;
+    }
+
+    private void unlinkOwner(int slot) {
+        int ownerSlot = ownerOf[slot];
+        if (ownerSlot == NIL) return;
+        int p = ownerPrev[slot];
+        int n = ownerNext[slot];
+        if (p == NIL) ownerHeads[ownerSlot] = n;
+        else          ownerNext[p] = n;
+        if (n != NIL) ownerPrev[n] = p;
+    }
+
+    /** Sort key: the side's next stop to trigger has the largest key. */
+    private static long keyOf(Order order) {
+        return order.getSide() == Side.BUY ? -order.getStopPriceTicks() : order.getStopPriceTicks();
+    }
+
+    private Ladder ladderOf(Side side) {
+        return side == Side.BUY ? buys : sells;
+    }
+
+    /**
+     * One side's stop prices in ascending key order, each with a FIFO queue
+     * of slots linked through next / prev. The best level is the last one.
+     */
+    private final class Ladder {
+
+        private long[] keys  = new long[8];
+        private int[]  heads = new int[8];
+        private int[]  tails = new int[8];
+        private int    levels;
+
+        long bestKey()  { return keys[levels - 1]; }
+        int  bestHead() { return heads[levels - 1]; }
+
+        void append(long key, int slot) {
+            int i = Arrays.binarySearch(keys, 0, levels, key);
+            if (i < 0) {
+                i = -i - 1;
+                insertLevel(i, key);
+            }
+            int tail = tails[i];
+            prev[slot] = tail;
+            next[slot] = NIL;
+            if (tail == NIL) heads[i] = slot;
+            else             next[tail] = slot;
+            tails[i] = slot;
+        }
+
+        void unlink(long key, int slot) {
+            int i = Arrays.binarySearch(keys, 0, levels, key);
+            int p = prev[slot];
+            int n = next[slot];
+            if (p == NIL) heads[i] = n;
+            else          next[p] = n;
+            if (n == NIL) tails[i] = p;
+            else          prev[n] = p;
+            if (heads[i] == NIL) removeLevel(i);
+        }
+
+        private void insertLevel(int i, long key) {
+            if (levels == keys.length) {
+                keys  = Arrays.copyOf(keys, levels << 1);
+                heads = Arrays.copyOf(heads, levels << 1);
+                tails = Arrays.copyOf(tails, levels << 1);
+            }
+            System.arraycopy(keys,  i, keys,  i + 1, levels - i);
+            System.arraycopy(heads, i, heads, i + 1, levels - i);
+            System.arraycopy(tails, i, tails, i + 1, levels - i);
+            keys[i]  = key;
+            heads[i] = NIL;
+            tails[i] = NIL;
+            levels++;
+        }
+
+        private void removeLevel(int i) {
+            levels--;
+            System.arraycopy(keys,  i + 1, keys,  i, levels - i);    // O(1) for the best level
+            System.arraycopy(heads, i + 1, heads, i, levels - i);
+            System.arraycopy(tails, i + 1, tails, i, levels - i);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ome.book;
+
+import com.ome.model.Trade;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Retention policy for an OrderBook's trade history.
+ *
+ *   ring(n)            → the most recent n trades in a fixed array (default)
+ *   none()             → keep nothing; pure matching
+ *   spillToDisk(dir,n) → every trade appended to a per-symbol file by a
+ *                        background writer, the most recent n also kept
+ *                        in memory
+ *
+ * Every policy is bounded in memory and never copies what it already holds,
+ * so recording a trade costs the same at the end of the day as at the open.
+ * history() is a read-only view over whatever is retained in memory.
+ */
+public interface TradeStore extends AutoCloseable {
+
+    /**
+     * Record one trade. Called on the matching thread. A store that keeps
+     * the trade retain()s it and release()s it once evicted, so pooled
+     * trades stay valid while in history().
+     */
+    void add(Trade trade);
+
+    /** Read-only view of the retained trades, oldest first. */
+    List<Trade> history();
+
+    /** Trades recorded since the book was created, retained or not. */
+    long getTotalRecorded();
+
+    /** Flush and release any resources. The default holds none. */
+    @Override
+    default void close() { }
+
+    // ── Factories ─────────────────────────────────────────────────────────────
+
+    @FunctionalInterface
+    interface Factory {
+        TradeStore create(String symbol);
+    }
+
+    static Factory ring(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Ring capacity must be positive: " + capacity);
+        return symbol -> new RingTradeStore(capacity);
+    }
+
+    static Factory none() {
+        return symbol -> new NoTradeStore();
+    }
+
+    static Factory spillToDisk(Path directory, int recentCapacity) {
+        if (directory == null) throw new IllegalArgumentException("Spill directory must not be null");
+        if (recentCapacity <= 0)
+            throw new IllegalArgumentException("Recent capacity must be positive: " + recentCapacity);
+        return symbol -> new SpillingTradeStore(directory.resolve(symbol + "-trades.csv"), recentCapacity);
+    }
+}
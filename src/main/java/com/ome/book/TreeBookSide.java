@@ -0,0 +1,78 @@
+package com.ome.book;
+
+import com.ome.model.Side;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * BookSide backed by a TreeMap keyed on price ticks.
+ *
+ *   Bids → DESCENDING comparator so firstEntry() is the highest bid.
+ *   Asks → natural ASCENDING order so firstEntry() is the lowest ask.
+ *
+ * Handles any price without configuration; every operation is O(log P).
+ * Removed levels go back to the book's PriceLevelPool, so a level that
+ * flickers at the touch is recycled rather than reallocated.
+ */
+public class TreeBookSide implements BookSide {
+
+    private final Side                      side;
+    private final TreeMap<Long, PriceLevel> levels;
+    private final PriceLevelPool            pool;
+
+    public TreeBookSide(Side side) {
+        this(side, new PriceLevelPool(BookConfig.DEFAULT_LEVEL_POOL_SIZE));
+    }
+
+    public TreeBookSide(Side side, PriceLevelPool pool) {
+        this.side   = side;
+        this.pool   = pool;
+        this.levels = (side == Side.BUY)
+                ? new TreeMap<>(Comparator.reverseOrder())
+                : new TreeMap<>();
+    }
+
+    @Override
+    public PriceLevel best() {
+        return levels.isEmpty() ? null : levels.firstEntry().getValue();
+    }
+
+    @Override
+    public PriceLevel next(PriceLevel level) {
+        // higherEntry follows the comparator, so "higher" is always worse
+        Map.Entry<Long, PriceLevel> entry = levels.higherEntry(level.getPriceTicks());
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public PriceLevel get(long priceTicks) {
+        return levels.get(priceTicks);
+    }
+
+    @Override
+    public PriceLevel getOrCreate(long priceTicks) {
+        PriceLevel level = levels.get(priceTicks);
+        if (level == null) {
+            level = pool.acquire(priceTicks);
+            levels.put(priceTicks, level);
+        }
+        return level;
+    }
+
+    @Override
+    public void remove(PriceLevel level) {
+        if (levels.remove(level.getPriceTicks(), level)) pool.release(level);
+    }
+
+    @Override
+    public Iterator<PriceLevel> iterator() {
+        return levels.values().iterator();
+    }
+
+    @Override public Side    side()       { return side; }
+    @Override public boolean isEmpty()    { return levels.isEmpty(); }
+    @Override public int     levelCount() { return levels.size(); }
+}
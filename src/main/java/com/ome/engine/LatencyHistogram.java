@@ -0,0 +1,107 @@
+package com.ome.engine;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latency samples in nanoseconds, log-linear (HDR-style):
+ * each power of two is split into 64 equal sub-buckets.
+ *
+ *   [0, 128)        : one bucket per nanosecond — exact
+ *   [2^k, 2^(k+1))  : 64 buckets of width 2^(k-6), k >= 7
+ *
+ * so a reported value is within 1/64 (1.6%) of the true one at any scale.
+ * Samples up to 2^36 ns (~68 s) are tracked; longer ones land in the top
+ * bucket but still count toward max. 1 984 buckets, ~16 KB, allocated
+ * once.
+ *
+ * Recording is a numberOfLeadingZeros, a shift and an array increment —
+ * no allocation, no boxing. Percentiles are reported as the upper bound of
+ * the bucket they fall in, clamped to the largest sample. Not thread-safe;
+ * owned by the engine's matching thread (LatencyRecorder hands intervals to
+ * other threads).
+ */
+public final class LatencyHistogram {
+
+    private static final int  SUB_BITS      = 7;
+    private static final int  SUB_COUNT     = 1 << SUB_BITS;             // exact range, [0, 128)
+    private static final int  HALF_COUNT    = SUB_COUNT >>> 1;           // sub-buckets per octave
+    private static final long MAX_TRACKABLE = (1L << 36) - 1;
+    private static final int  BUCKETS       = bucketOf(MAX_TRACKABLE) + 1;
+
+    private final long[] buckets = new long[BUCKETS];
+    private       long   count;
+    private       long   sum;
+    private       long   min = Long.MAX_VALUE;
+    private       long   max;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(Math.min(nanos, MAX_TRACKABLE))]++;
+        count++;
+        sum += nanos;
+        if (nanos < min) min = nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    /**
+     * Latency at or below which the given fraction of samples fall.
+     *
+     * @param fraction in [0, 1], e.g. 0.99 for p99
+     */
+    public long getPercentile(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0)
+            throw new IllegalArgumentException("Percentile must be in [0, 1]. Got: " + fraction);
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int b = 0; b < buckets.length; b++) {
+            seen += buckets[b];
+            if (seen >= rank) return Math.min(max, upperBound(b));
+        }
+        return max;
+    }
+
+    /** Merge another histogram's samples into this one. */
+    public void add(LatencyHistogram other) {
+        for (int b = 0; b < buckets.length; b++) buckets[b] += other.buckets[b];
+        count += other.count;
+        sum   += other.sum;
+        min    = Math.min(min, other.min);
+        max    = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0L);
+        count = 0;
+        sum   = 0;
+        min   = Long.MAX_VALUE;
+        max   = 0;
+    }
+
+    public long   getCount() { return count; }
+    public long   getMin()   { return count == 0 ? 0 : min; }
+    public long   getMax()   { return max; }
+    public double getMean()  { return count == 0 ? 0.0 : (double) sum / count; }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_COUNT) return (int) nanos;
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - (SUB_BITS - 1);
+        int top   = (int) (nanos >>> shift);                               // in [64, 128)
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (top - HALF_COUNT);
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int k     = bucket - SUB_COUNT;
+        int shift = k / HALF_COUNT + 1;
+        long top  = HALF_COUNT + k % HALF_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram[n=%d | mean=%.0f ns | p50=%d | p99=%d | p99.9=%d | max=%d]",
+                count, getMean(), getPercentile(0.50), getPercentile(0.99), getPercentile(0.999), max);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ome.engine;
+
+import com.ome.model.OrderType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-order latency broken down by symbol and by order type, kept two ways:
+ *
+ *   cumulative : everything since start — printStats(), end-of-day reports
+ *   intervals  : getIntervalSnapshot() swaps the live interval for a spare
+ *                and returns the one just finished, without pausing the
+ *                matching thread — periodic SLO / regression reporting
+ *
+ * One writer (the engine thread), any number of readers. The writer marks
+ * each record with an odd/even phase; a reader that swaps the active
+ * interval waits for an odd phase to move on, so the returned interval is
+ * never written again. The swap costs the writer nothing but two ordered
+ * stores per order; all histograms already exist after a symbol's first
+ * order, so recording allocates nothing.
+ */
+public final class LatencyRecorder {
+
+    private final    Snapshot   cumulative = new Snapshot();
+    private volatile Snapshot   active     = new Snapshot();
+    private          Snapshot   spare      = new Snapshot();
+    private final    AtomicLong phase      = new AtomicLong();
+    private          long       writes;                      // writer's copy of phase
+
+    /** Record one order's latency. Engine thread only. */
+    public void record(String symbol, OrderType type, long nanos) {
+        cumulative.record(symbol, type, nanos);
+
+        long p = writes;
+        phase.set(p + 1);                   // odd: writing into active (ordered before reading it)
+        active.record(symbol, type, nanos);
+        phase.lazySet(p + 2);
+        writes = p + 2;
+    }
+
+    /**
+     * End the current interval and return it; a fresh one starts at once.
+     * The returned snapshot stays valid until the next call.
+     */
+    public synchronized Snapshot getIntervalSnapshot() {
+        long now = System.currentTimeMillis();
+        spare.reset(now);
+        Snapshot done = active;
+        active = spare;
+
+        long p = phase.get();
+        if ((p & 1) != 0) {
+            while (phase.get() == p) Thread.onSpinWait();
+        }
+        done.endMillis = now;
+        spare          = done;
+        return done;
+    }
+
+    /**
+     * Everything since the engine started. Written by the engine thread —
+     * other threads see approximately current values.
+     */
+    public Snapshot getCumulative() { return cumulative; }
+
+    // ── Snapshot ──────────────────────────────────────────────────────────────
+
+    /**
+     * Latency histograms for one period: all orders, each symbol, each order
+     * type.
+     */
+    public static final class Snapshot {
+
+        private final LatencyHistogram              total    = new LatencyHistogram();
+        private final LatencyHistogram[]            byType   = new LatencyHistogram[OrderType.values().length];
+        private final Map<String, LatencyHistogram> bySymbol = new ConcurrentHashMap<>();
+        private       long                          startMillis = System.currentTimeMillis();
+        private       long                          endMillis;
+
+        Snapshot() {
+            for (int i = 0; i < byType.length; i++) byType[i] = new LatencyHistogram();
+        }
+
+        void record(String symbol, OrderType type, long nanos) {
+            total.record(nanos);
+            byType[type.ordinal()].record(nanos);
+            LatencyHistogram h = bySymbol.get(symbol);
+            if (h == null) bySymbol.put(symbol, h = new LatencyHistogram());
+            h.record(nanos);
+        }
+
+        void reset(long startMillis) {
+            total.reset();
+            for (LatencyHistogram h : byType)            h.reset();
+            for (LatencyHistogram h : bySymbol.values()) h.reset();   // keep the histograms, no re-allocation
+            this.startMillis = startMillis;
+            this.endMillis   = 0;
+        }
+
+        public LatencyHistogram getTotal()                { return total; }
+        public LatencyHistogram getByType(OrderType type) { return byType[type.ordinal()]; }
+
+        /** Histogram for a symbol, or null if it had no orders yet. */
+        public LatencyHistogram getBySymbol(String symbol) { return bySymbol.get(symbol.toUpperCase()); }
+        public Set<String>      getSymbols()               { return bySymbol.keySet(); }
+
+        public long getStartMillis() { return startMillis; }
+
+        /** When the interval was closed; 0 for the cumulative snapshot. */
+        public long getEndMillis()   { return endMillis; }
+    }
+}
@@ -1,15 +1,27 @@
 package com.ome.engine;
 
+import com.ome.audit.AuditLog;
+import com.ome.book.BookConfig;
+import com.ome.book.BookSide;
+import com.ome.book.ExecutionListener;
 import com.ome.book.OrderBook;
 import com.ome.feed.EventBus;
+import com.ome.feed.MarketEvent;
 import com.ome.feed.OrderEvent;
 import com.ome.feed.TradeEvent;
+import com.ome.metrics.MetricsRegistry;
+import com.ome.metrics.StripedCounter;
+import com.ome.model.ObjectPool;
 import com.ome.model.Order;
+import com.ome.model.OrderType;
+import com.ome.model.Side;
 import com.ome.model.Trade;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 /**
  * MatchingEngine is the central coordinator of the exchange simulation.
@@ -17,82 +29,462 @@ import java.util.concurrent.ConcurrentHashMap;
  * Responsibilities:
  *  1. Route incoming orders to the correct symbol's OrderBook
  *  2. Collect resulting trades and publish them to the EventBus
- *  3. Track per-order latency in nanoseconds
- *  4. Provide order cancellation
+ *  3. Track per-order latency in nanoseconds, per symbol and order type (LatencyRecorder)
+ *  4. Provide order cancellation and amendment
+ *  5. Run opening / closing call auctions per symbol
+ *  6. Expire good-till-date orders (TimerWheel, advanced on every submit)
  *
- * One OrderBook per symbol — books are created lazily on first order.
+ * Nothing on the order path writes to the console. Latencies, cancels,
+ * amends and auction events go to an AuditLog as primitive records —
+ * AuditLog.NONE by default; setAuditLog() with an AsyncAuditLog and a
+ * ConsoleAuditSink brings back the human-readable output, off-thread.
+ *
+ * Counters (orders by type, trades, cancels, rejects, expiries) are
+ * StripedCounters in a MetricsRegistry, so a monitoring thread can read
+ * them at any time without a lock on, or a cache line shared with, the
+ * matching thread.
+ *
+ * One OrderBook per symbol — books are created lazily on first order,
+ * using the BookConfig set for that symbol: its BookSide layout (TreeMap by
+ * default, or a tick-indexed ladder for names that trade in a narrow band)
+ * and its OrderStore (heap by default, or off-heap records for deep books).
  * Thread-safety: ConcurrentHashMap for the book registry; individual books
- * are NOT thread-safe by design (in a real engine you'd shard by symbol).
+ * and the counters are NOT thread-safe by design — one thread drives an
+ * engine. ShardedMatchingEngine runs one engine per shard thread to use
+ * more cores.
+ *
+ * Object pooling: each engine owns an Order pool and a Trade pool.
+ * newOrder() hands out a pooled order; every submit variant takes over the
+ * caller's reference and releases it on return, while the book and queued
+ * events hold their own. process() publishes fills as pooled Trades that
+ * the EventBus releases after dispatch. Unpooled orders ignore all of this.
  */
 public class MatchingEngine {
 
-    private final Map<String, OrderBook> books    = new ConcurrentHashMap<>();
-    private final EventBus               eventBus;
-    private       long                   totalOrders = 0;
-    private       long                   totalTrades = 0;
+    private final    Map<String, OrderBook>        books         = new ConcurrentHashMap<>();
+    private final    Map<String, BookConfig>       bookConfigs   = new ConcurrentHashMap<>();
+    private final    EventBus                      eventBus;
+    private volatile BookConfig                    defaultConfig = BookConfig.DEFAULT;
+    private final    ObjectPool<Order>             orderPool;
+    private final    ObjectPool<Trade>             tradePool;
+    private final    PooledTradePublisher          tradePublisher = new PooledTradePublisher();
+    private final    LatencyRecorder               latency       = new LatencyRecorder();
+    private final    TimerWheel                    expiries      = new TimerWheel(EXPIRY_WHEEL_SLOTS, EXPIRY_TICK_MILLIS);
+    private final    TimerWheel.Expiry             expireOrder   = this::expireOrder;
+    private volatile LongSupplier                  clock         = System::currentTimeMillis;
+    private volatile AuditLog                      log           = AuditLog.NONE;
+    private final    MetricsRegistry               metrics       = new MetricsRegistry();
+    private final    StripedCounter                orderCount    = metrics.counter(METRIC_ORDERS);
+    private final    StripedCounter[]              orderByType   = new StripedCounter[OrderType.values().length];
+    private final    StripedCounter                tradeCount    = metrics.counter(METRIC_TRADES);
+    private final    StripedCounter                cancelCount   = metrics.counter(METRIC_CANCELS);
+    private final    StripedCounter                rejectCount   = metrics.counter(METRIC_REJECTS);
+    private final    StripedCounter                expiredCount  = metrics.counter(METRIC_EXPIRED);
+    private          int                           expiredInPass;
+
+    private static final int  DEFAULT_POOL_CAPACITY = 65_536;
+    private static final int  EXPIRY_WHEEL_SLOTS    = 8_192;   // × 100 ms ≈ 13.6 min per rotation
+    private static final long EXPIRY_TICK_MILLIS    = 100;
+
+    // Metric names in getMetrics(); orders by type are "orders.<TYPE>"
+    public static final String METRIC_ORDERS  = "orders";
+    public static final String METRIC_TRADES  = "trades";
+    public static final String METRIC_CANCELS = "cancels";
+    public static final String METRIC_REJECTS = "rejects";
+    public static final String METRIC_EXPIRED = "orders.expired";
 
     public MatchingEngine(EventBus eventBus) {
-        this.eventBus = eventBus;
+        this(eventBus, DEFAULT_POOL_CAPACITY);
+    }
+
+    /**
+     * @param poolCapacity maximum idle objects kept in each of the order and trade pools
+     */
+    public MatchingEngine(EventBus eventBus, int poolCapacity) {
+        this.eventBus  = eventBus;
+        this.orderPool = Order.newPool(poolCapacity);
+        this.tradePool = Trade.newPool(poolCapacity);
+        for (OrderType type : OrderType.values()) {
+            orderByType[type.ordinal()] = metrics.counter(METRIC_ORDERS + "." + type);
+        }
     }
 
     // ── Public API ────────────────────────────────────────────────────────────
 
+    /**
+     * Create an order from this engine's pool. Ownership passes to the
+     * engine on submit — don't touch the order afterwards unless you
+     * retain() it first.
+     */
+    public Order newOrder(String symbol, Side side, OrderType type, double price, int quantity) {
+        return Order.pooled(orderPool, symbol, side, type, price, quantity);
+    }
+
+    /**
+     * As newOrder, tagged with the participant/session that owns it so it
+     * can later be swept up by massCancel().
+     */
+    public Order newOrder(String symbol, Side side, OrderType type, double price, int quantity,
+                          String owner) {
+        return Order.pooled(orderPool, symbol, side, type, price, quantity, owner);
+    }
+
+    /**
+     * Pooled STOP / STOP_LIMIT order. The book holds it until a trade at or
+     * through stopPrice, then matches it as MARKET / LIMIT at price.
+     */
+    public Order newOrder(String symbol, Side side, OrderType type, double price, double stopPrice,
+                          int quantity, String owner) {
+        return Order.pooled(orderPool, symbol, side, type, price, stopPrice, quantity, owner);
+    }
+
+    /**
+     * Pooled order under an id the OrderSequencer assigned when the
+     * producer filled its slot.
+     */
+    Order newOrder(long orderId, String symbol, Side side, OrderType type, double price, double stopPrice,
+                   int quantity, String owner) {
+        return Order.pooled(orderPool, orderId, symbol, side, type, price, stopPrice, quantity, owner);
+    }
+
     /**
      * Submit an order to the engine.
      * @return list of trades generated (may be empty)
      */
     public List<Trade> submit(Order order) {
         long start = System.nanoTime();
-        totalOrders++;
+        countOrder(order);
+        expireDue();
 
-        OrderBook book = books.computeIfAbsent(order.getSymbol(), OrderBook::new);
+        OrderBook book = bookFor(order.getSymbol());
 
         // Publish order received event
         eventBus.publish(new OrderEvent(OrderEvent.Type.RECEIVED, order));
 
         // Match
         List<Trade> trades = book.addOrder(order);
+        scheduleExpiry(book, order);
 
         // Publish trade events
         for (Trade t : trades) {
             eventBus.publish(new TradeEvent(t));
-            totalTrades++;
         }
+        tradeCount.add(trades.size());
 
         // Publish final order status event
         OrderEvent.Type finalEvent = resolveOrderEvent(order);
         eventBus.publish(new OrderEvent(finalEvent, order));
 
         long latencyNs = System.nanoTime() - start;
-        System.out.printf("  ⏱  Latency: %,d ns%n", latencyNs);
+        latency.record(order.getSymbol(), order.getType(), latencyNs);
+        log.record(AuditLog.Type.ORDER_LATENCY, order.getSymbol(), order.getOrderId(), latencyNs);
 
+        order.release();   // the submitter's reference
         return trades;
     }
 
     /**
-     * Cancel a resting order by id.
+     * Submit a burst of orders, matched in arrival order with the same
+     * results as calling submit() on each. Per-call costs are paid per batch
+     * instead: the book is looked up once per run of same-symbol orders, all
+     * events go to the EventBus as one publishAll(), and consecutive orders
+     * share clock reads (one sample per order in the latency histogram).
+     * Nothing is printed per order.
+     *
+     * @return every trade generated, in order
+     */
+    public List<Trade> submitBatch(List<Order> orders) {
+        List<Trade>       trades = new ArrayList<>();
+        List<MarketEvent> events = new ArrayList<>(orders.size() * 3);
+        String            symbol = null;
+        OrderBook         book   = null;
+        long              mark   = System.nanoTime();
+        expireDue();
+
+        for (Order order : orders) {
+            if (!order.getSymbol().equals(symbol)) {
+                symbol = order.getSymbol();
+                book   = bookFor(symbol);
+            }
+            countOrder(order);
+            events.add(new OrderEvent(OrderEvent.Type.RECEIVED, order));
+
+            int first = trades.size();
+            book.addOrder(order, trades);
+            scheduleExpiry(book, order);
+            for (int i = first; i < trades.size(); i++) events.add(new TradeEvent(trades.get(i)));
+            tradeCount.add(trades.size() - first);
+
+            events.add(new OrderEvent(resolveOrderEvent(order), order));
+
+            long now = System.nanoTime();
+            latency.record(symbol, order.getType(), now - mark);
+            mark = now;
+            order.release();   // the submitter's reference; events hold their own
+        }
+
+        eventBus.publishAll(events);
+        return trades;
+    }
+
+    /**
+     * Submit for the pooled, event-driven flow: nothing is returned, each
+     * fill is published as a pooled Trade on the EventBus, and the order
+     * and trades go back to this engine's pools once the book and the
+     * dispatcher are done with them.
+     */
+    public void process(Order order) {
+        long start = System.nanoTime();
+        countOrder(order);
+        expireDue();
+
+        OrderBook book = bookFor(order.getSymbol());
+        eventBus.publish(new OrderEvent(OrderEvent.Type.RECEIVED, order));
+
+        tradePublisher.book = book;
+        book.addOrder(order, tradePublisher);
+        scheduleExpiry(book, order);
+
+        eventBus.publish(new OrderEvent(resolveOrderEvent(order), order));
+        latency.record(order.getSymbol(), order.getType(), System.nanoTime() - start);
+        order.release();   // the submitter's reference
+    }
+
+    /**
+     * Allocation-free submit: fills go straight to the listener as primitive
+     * fields. No Trade or event objects are created and nothing is printed —
+     * publishing downstream is the listener's job.
+     */
+    public void submit(Order order, ExecutionListener listener) {
+        long start = System.nanoTime();
+        countOrder(order);
+        expireDue();
+
+        OrderBook book   = bookFor(order.getSymbol());
+        long      before = book.getTradeCount();
+        book.addOrder(order, listener);
+        scheduleExpiry(book, order);
+        tradeCount.add(book.getTradeCount() - before);
+        latency.record(order.getSymbol(), order.getType(), System.nanoTime() - start);
+
+        order.release();   // the submitter's reference
+    }
+
+    /**
+     * Cancel a resting order by id; subscribers get ORDER_CANCELLED.
      */
     public boolean cancel(String symbol, long orderId) {
         OrderBook book = books.get(symbol.toUpperCase());
         if (book == null) {
-            System.out.printf("  ⚠️  No order book for %s%n", symbol);
+            rejectCount.increment();
+            log.record(AuditLog.Type.NO_BOOK, symbol, 0);
             return false;
         }
-        boolean cancelled = book.cancelOrder(orderId);
-        if (cancelled) {
-            System.out.printf("  🗑  Order #%04d cancelled from %s book.%n", orderId, symbol);
-        } else {
-            System.out.printf("  ⚠️  Order #%04d not found in %s (already filled?).%n", orderId, symbol);
-        }
+        boolean cancelled = cancelAndPublish(book, orderId);
+        (cancelled ? cancelCount : rejectCount).increment();
+        log.record(cancelled ? AuditLog.Type.CANCELLED : AuditLog.Type.CANCEL_NOT_FOUND, symbol, orderId);
+        return cancelled;
+    }
+
+    /**
+     * Cancel everything an owner has resting, across every book. One summary
+     * line instead of a print per order; each book walks only the owner's
+     * own orders.
+     *
+     * @return number of orders cancelled
+     */
+    public int massCancel(String owner) {
+        int cancelled = 0;
+        for (OrderBook book : books.values()) cancelled += book.massCancel(owner, null);
+        cancelCount.add(cancelled);
+        log.record(AuditLog.Type.MASS_CANCEL, null, owner, cancelled, 0, 0, 0);
+        return cancelled;
+    }
+
+    /**
+     * Cancel an owner's resting orders in one symbol, optionally on one side
+     * only (side == null for both).
+     */
+    public int massCancel(String owner, String symbol, Side side) {
+        OrderBook book = books.get(symbol.toUpperCase());
+        int cancelled  = (book == null) ? 0 : book.massCancel(owner, side);
+        cancelCount.add(cancelled);
+        log.record(AuditLog.Type.MASS_CANCEL, symbol, owner, cancelled, 0, 0, 0);
         return cancelled;
     }
 
+    /**
+     * Amend a resting order's price and/or open quantity in one book
+     * operation. A size reduction at the same price keeps queue priority;
+     * a price change may trade, and those fills are published as pooled
+     * Trades and recorded in the trade history like process().
+     */
+    public boolean amend(String symbol, long orderId, double newPrice, int newQuantity) {
+        OrderBook book = books.get(symbol.toUpperCase());
+        if (book == null) {
+            rejectCount.increment();
+            log.record(AuditLog.Type.NO_BOOK, symbol, 0);
+            return false;
+        }
+        long newPriceTicks = book.getTickSize().toTicks(newPrice);
+
+        tradePublisher.book = book;
+        boolean amended = book.replaceOrder(orderId, newPriceTicks, newQuantity, tradePublisher);
+        if (amended) log.record(AuditLog.Type.AMENDED, symbol, null, orderId, newQuantity, newPriceTicks, 0);
+        else {
+            rejectCount.increment();
+            log.record(AuditLog.Type.AMEND_NOT_FOUND, symbol, orderId);
+        }
+        return amended;
+    }
+
+    // ── Call Auctions ─────────────────────────────────────────────────────────
+
+    /**
+     * Put a symbol's book into call-auction mode (creating the book if
+     * needed): LIMIT orders queue without matching until uncross().
+     */
+    public void beginAuction(String symbol) {
+        bookFor(symbol.toUpperCase()).beginAuction();
+        log.record(AuditLog.Type.AUCTION_OPEN, symbol, 0);
+    }
+
+    /**
+     * Uncross a symbol's auction: all crossing volume trades at one
+     * equilibrium price, published as pooled Trades like process() and
+     * recorded in the book's trade history, and the book returns to
+     * continuous matching.
+     *
+     * @return volume executed
+     */
+    public long uncross(String symbol) {
+        OrderBook book = books.get(symbol.toUpperCase());
+        if (book == null) {
+            log.record(AuditLog.Type.NO_BOOK, symbol, 0);
+            return 0;
+        }
+        tradePublisher.book = book;
+        long volume = book.uncross(tradePublisher);
+        log.record(AuditLog.Type.UNCROSSED, symbol, volume, book.getLastTradePriceTicks());
+        return volume;
+    }
+
+    // ── Order Expiry (GTD) ────────────────────────────────────────────────────
+
+    /**
+     * Cancel every good-till-date order whose expiry has passed. Submits do
+     * this on the way in; call it directly to expire orders while no flow
+     * arrives (e.g. from a session timer on the engine thread).
+     *
+     * @return number of orders expired
+     */
+    public int expireOrders() {
+        return expireOrders(clock.getAsLong());
+    }
+
+    public int expireOrders(long nowMillis) {
+        expiredInPass = 0;
+        expiries.advance(nowMillis, expireOrder);
+        expiredCount.add(expiredInPass);
+        return expiredInPass;
+    }
+
+    /**
+     * Time source for GTD expiry, epoch millis. System clock by default;
+     * replay and tests substitute their own.
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    // ── Audit ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Where cancels, amends, auction events and per-order latencies are
+     * recorded. AuditLog.NONE (the default) keeps the engine silent.
+     */
+    public void setAuditLog(AuditLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Count and log a command that failed on its way into this engine —
+     * the sequencer and shard threads report their rejects here.
+     */
+    void reject(String symbol, long orderId, String reason) {
+        rejectCount.increment();
+        log.record(AuditLog.Type.REJECTED, symbol, reason, orderId, 0, 0, 0);
+    }
+
+    // ── Book Configuration ────────────────────────────────────────────────────
+
+    /**
+     * Configure the book for a symbol. Takes effect when the book is created,
+     * so configure before the first order for that symbol arrives.
+     */
+    public void setBookConfig(String symbol, BookConfig config) {
+        String key = symbol.toUpperCase();
+        if (books.containsKey(key))
+            throw new IllegalStateException("Order book for " + key + " already exists.");
+        bookConfigs.put(key, config);
+    }
+
+    /**
+     * Choose only the BookSide storage for a symbol; everything else comes
+     * from the default configuration.
+     */
+    public void setBookLayout(String symbol, BookSide.Factory layout) {
+        setBookConfig(symbol, defaultConfig.toBuilder().sides(layout).build());
+    }
+
+    /**
+     * Configuration used for symbols without an explicit setBookConfig().
+     */
+    public void setDefaultBookConfig(BookConfig config) {
+        this.defaultConfig = config;
+    }
+
+    /**
+     * Layout used for symbols without an explicit setBookLayout().
+     */
+    public void setDefaultBookLayout(BookSide.Factory layout) {
+        this.defaultConfig = defaultConfig.toBuilder().sides(layout).build();
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /**
+     * Close every book, flushing trade stores that write to disk.
+     */
+    public void close() {
+        books.values().forEach(OrderBook::close);
+    }
+
     // ── Accessors ─────────────────────────────────────────────────────────────
 
+    public ObjectPool<Order> getOrderPool() { return orderPool; }
+    public ObjectPool<Trade> getTradePool() { return tradePool; }
+
+    /** Latency of every order since start, in nanoseconds. */
+    public LatencyHistogram  getLatency()   { return latency.getCumulative().getTotal(); }
+
+    /** Per-symbol / per-type latency, cumulative and in swappable intervals. */
+    public LatencyRecorder   getLatencyRecorder() { return latency; }
+
     public OrderBook getBook(String symbol) {
         return books.get(symbol.toUpperCase());
     }
 
+    public int  getBookCount()   { return books.size(); }
+    public long getTotalOrders() { return orderCount.sum(); }
+    public long getTotalTrades() { return tradeCount.sum(); }
+
+    /**
+     * Live counters by name (see the METRIC_ constants); safe to read from
+     * any thread while the engine runs.
+     */
+    public MetricsRegistry getMetrics() { return metrics; }
+
     public void printBook(String symbol) {
         OrderBook book = books.get(symbol.toUpperCase());
         if (book == null) System.out.printf("No order book for %s%n", symbol);
@@ -104,18 +496,114 @@ public class MatchingEngine {
         System.out.println("┌─────────────────────────────────────┐");
         System.out.println("│        ENGINE STATISTICS            │");
         System.out.println("├─────────────────────────────────────┤");
-        System.out.printf ("│  Total Orders Processed: %-10d │%n", totalOrders);
-        System.out.printf ("│  Total Trades Generated: %-10d │%n", totalTrades);
+        System.out.printf ("│  Total Orders Processed: %-10d │%n", orderCount.sum());
+        System.out.printf ("│  Total Trades Generated: %-10d │%n", tradeCount.sum());
+        System.out.printf ("│  Cancels / Rejects:      %-10s │%n", cancelCount.sum() + " / " + rejectCount.sum());
+        System.out.printf ("│  Orders Expired (GTD):   %-10d │%n", expiredCount.sum());
         System.out.printf ("│  Active Books:           %-10d │%n", books.size());
+        System.out.printf ("│  Order Pool Reused:      %-10d │%n", orderPool.getReused());
+        System.out.printf ("│  Trade Pool Reused:      %-10d │%n", tradePool.getReused());
+        LatencyRecorder.Snapshot all = latency.getCumulative();
+        LatencyHistogram         h   = all.getTotal();
+        System.out.printf ("│  Latency p50 / p99 (ns): %-10s │%n",
+                h.getPercentile(0.50) + " / " + h.getPercentile(0.99));
+        System.out.printf ("│  Latency p99.9 / max:    %-10s │%n",
+                h.getPercentile(0.999) + " / " + h.getMax());
+        for (OrderType type : OrderType.values()) {
+            LatencyHistogram t = all.getByType(type);
+            if (t.getCount() == 0) continue;
+            System.out.printf("│    %-10s p50/p99/p99.9: %-6s │%n", type,
+                    t.getPercentile(0.50) + "/" + t.getPercentile(0.99) + "/" + t.getPercentile(0.999));
+        }
         System.out.println("└─────────────────────────────────────┘");
         System.out.println();
     }
 
     // ── Private Helpers ───────────────────────────────────────────────────────
 
+    private OrderBook bookFor(String symbol) {
+        OrderBook book = books.get(symbol);
+        return (book != null) ? book : books.computeIfAbsent(symbol, this::createBook);
+    }
+
+    private OrderBook createBook(String symbol) {
+        return new OrderBook(symbol, bookConfigs.getOrDefault(symbol, defaultConfig));
+    }
+
+    private void countOrder(Order order) {
+        orderCount.increment();
+        orderByType[order.getType().ordinal()].increment();
+    }
+
+    private void expireDue() {
+        if (expiries.size() > 0) expireOrders(clock.getAsLong());
+    }
+
+    /**
+     * Put a GTD order that is still live in the book (resting, or a pending
+     * stop) on the expiry wheel. Only the id is kept — a pooled order may be
+     * recycled long before it expires.
+     */
+    private void scheduleExpiry(OrderBook book, Order order) {
+        long expiresAt = order.getExpiresAt();
+        if (expiresAt == 0 || !order.isActive()) return;
+        if (order.getType() != OrderType.LIMIT && !order.getType().isStop()) return;
+        expiries.schedule(expiresAt, book, order.getOrderId());
+    }
+
+    /**
+     * Wheel callback: cancel an expired order and report it like a user
+     * cancel — ORDER_CANCELLED on the bus, plus an EXPIRED audit record.
+     */
+    private void expireOrder(OrderBook book, long orderId) {
+        if (!cancelAndPublish(book, orderId)) return;       // filled or cancelled since it was scheduled
+        expiredInPass++;
+        log.record(AuditLog.Type.EXPIRED, book.getSymbol(), orderId);
+    }
+
+    /**
+     * Cancel by id and publish ORDER_CANCELLED for the order. A book on an
+     * off-heap store holds no Order object to publish, only the audit
+     * record reports it there.
+     */
+    private boolean cancelAndPublish(OrderBook book, long orderId) {
+        Order order = book.findOrder(orderId);
+        if (order == null) return book.cancelOrder(orderId);
+
+        order.retain();                                     // the book lets go of it on cancel
+        boolean cancelled = book.cancelOrder(orderId);
+        if (cancelled) eventBus.publish(new OrderEvent(OrderEvent.Type.CANCELLED, order));
+        order.release();
+        return cancelled;
+    }
+
     private OrderEvent.Type resolveOrderEvent(Order order) {
         if (order.isFilled())    return OrderEvent.Type.FILLED;
         if (order.isCancelled()) return OrderEvent.Type.CANCELLED;
         return OrderEvent.Type.OPEN;
     }
+
+    /**
+     * Turns primitive fills into pooled Trades on the EventBus and in the
+     * book's trade history, like the book's own recording listener. One
+     * instance per engine; the engine points it at the book being matched.
+     */
+    private final class PooledTradePublisher implements ExecutionListener {
+
+        private OrderBook book;
+
+        @Override
+        public void onExecution(long makerOrderId, long takerOrderId, Side takerSide,
+                                long priceTicks, int quantity) {
+            long buyId  = (takerSide == Side.BUY)  ? takerOrderId : makerOrderId;
+            long sellId = (takerSide == Side.SELL) ? takerOrderId : makerOrderId;
+
+            Trade trade = Trade.pooled(tradePool, book.getSymbol(), book.getTickSize(),
+                                       buyId, sellId, priceTicks, quantity);
+            book.recordTrade(trade);                    // the history retains its own reference
+            eventBus.publish(new TradeEvent(trade));
+            trade.release();   // the event and the history hold theirs
+            tradeCount.increment();
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.ome.engine;
+
+import com.ome.model.OrderType;
+import com.ome.model.Side;
+
+/**
+ * One pre-allocated, reusable slot of the OrderSequencer ring.
+ *
+ * A producer claims a sequence, fills the slot with one of newOrder() /
+ * cancel() / amend() and publishes it; the consumer reads it and the slot
+ * is overwritten a lap later. Each fill resets every field, so nothing
+ * leaks from the previous lap. Only the claiming producer writes a slot
+ * and only the consumer reads it, so there is no locking here.
+ */
+public final class OrderCommand {
+
+    public enum Kind { NEW, CANCEL, AMEND }
+
+    Kind      kind;
+    long      sequence;
+    String    symbol;
+    Side      side;
+    OrderType type;
+    double    price;
+    double    stopPrice;
+    int       quantity;
+    String    owner;
+    long      orderId;
+    long      expiresAt;
+
+    OrderCommand() { }
+
+    /**
+     * New order entry. The order's id is assigned here, from the claimed
+     * sequence — read it with getOrderId() to cancel or amend later.
+     */
+    public OrderCommand newOrder(String symbol, Side side, OrderType type, double price, int quantity,
+                                 String owner) {
+        return fill(Kind.NEW, symbol, side, type, price, 0, quantity, owner, OrderSequencer.orderIdFor(sequence));
+    }
+
+    /** STOP / STOP_LIMIT entry. */
+    public OrderCommand newOrder(String symbol, Side side, OrderType type, double price, double stopPrice,
+                                 int quantity, String owner) {
+        return fill(Kind.NEW, symbol, side, type, price, stopPrice, quantity, owner,
+                    OrderSequencer.orderIdFor(sequence));
+    }
+
+    public OrderCommand cancel(String symbol, long orderId) {
+        return fill(Kind.CANCEL, symbol, null, null, 0, 0, 0, null, orderId);
+    }
+
+    public OrderCommand amend(String symbol, long orderId, double newPrice, int newQuantity) {
+        return fill(Kind.AMEND, symbol, null, null, newPrice, 0, newQuantity, null, orderId);
+    }
+
+    /** Good-till-date expiry for a NEW command, epoch millis. */
+    public OrderCommand goodTill(long expiresAtMillis) {
+        this.expiresAt = expiresAtMillis;
+        return this;
+    }
+
+    public Kind getKind()     { return kind; }
+
+    /** Position in the global input stream, stamped by the sequencer on claim. */
+    public long getSequence() { return sequence; }
+
+    /** NEW: the id the order will carry in the book. CANCEL / AMEND: the target order. */
+    public long getOrderId()  { return orderId; }
+
+    private OrderCommand fill(Kind kind, String symbol, Side side, OrderType type, double price,
+                              double stopPrice, int quantity, String owner, long orderId) {
+        this.kind      = kind;
+        this.symbol    = symbol;
+        this.side      = side;
+        this.type      = type;
+        this.price     = price;
+        this.stopPrice = stopPrice;
+        this.quantity  = quantity;
+        this.owner     = owner;
+        this.orderId   = orderId;
+        this.expiresAt = 0L;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case NEW    -> String.format("#%d NEW %s %s %s %d @ %.2f", sequence, symbol, side, type, quantity, price);
+            case CANCEL -> String.format("#%d CANCEL %s order %d", sequence, symbol, orderId);
+            case AMEND  -> String.format("#%d AMEND %s order %d to %d @ %.2f", sequence, symbol, orderId, quantity, price);
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package com.ome.engine;
+
+import com.ome.model.Order;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Pre-allocated ring buffer that sequences order commands from many
+ * gateway threads into one MatchingEngine thread (Disruptor-style).
+ *
+ *   producers : claim (getAndIncrement on the cursor) → fill slot → publish
+ *   consumer  : one thread, applies published slots in sequence order
+ *
+ * The ring holds OrderCommand slots allocated once up front; entering an
+ * order writes fields into a slot rather than allocating a command. A
+ * producer that laps the consumer waits for a slot to free up, so nothing
+ * is dropped. Publication is tracked per slot (the sequence last published
+ * into it), so producers may publish out of claim order and the consumer
+ * still only advances over a contiguous published run.
+ *
+ * The sequence is the engine's input order. Sequenced order ids are a
+ * function of the sequence (orderIdFor), not of the process-wide id
+ * generator, so replaying a run into a fresh engine in the same sequence
+ * gives the same ids and — with the same clock for GTD expiry — the same
+ * book states, whatever else the JVM has created. Every order reaching
+ * the engine should go through the sequencer, one sequencer per engine —
+ * direct calls on the engine from other threads race with the consumer.
+ *
+ *   two-phase : long seq = next(); long id = get(seq).newOrder(...).getOrderId(); publish(seq);
+ *   one-shot  : long id = orderIdFor(submit(cmd -> cmd.newOrder(...)));
+ *
+ * A NEW command's order id is fixed on the producer side, from its
+ * sequence, so the gateway can cancel or amend the order straight away.
+ */
+public final class OrderSequencer {
+
+    private static final long SEQUENCED_ID_BASE = 1L << 62;
+
+    private final OrderCommand[]  ring;
+    private final AtomicLongArray published;                  // sequence last published into each slot
+    private final int             mask;
+    private final AtomicLong      cursor    = new AtomicLong(-1);   // last claimed
+    private final AtomicLong      consumed  = new AtomicLong(-1);   // last applied by the consumer
+    private final MatchingEngine  engine;
+    private final WaitStrategy    waitStrategy;
+    private final Thread          consumer;
+    private volatile boolean      running   = true;
+
+    /**
+     * @param bufferSize   ring slots, a power of two
+     * @param waitStrategy how the consumer waits for commands and producers for space
+     */
+    public OrderSequencer(MatchingEngine engine, int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1)
+            throw new IllegalArgumentException("Ring size must be a power of two. Got: " + bufferSize);
+        this.engine       = engine;
+        this.waitStrategy = waitStrategy;
+        this.mask         = bufferSize - 1;
+        this.ring         = new OrderCommand[bufferSize];
+        this.published    = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new OrderCommand();
+            published.set(i, -1);
+        }
+        this.consumer = new Thread(this::consume, "OrderSequencer-Consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    // ── Producer API ──────────────────────────────────────────────────────────
+
+    /**
+     * Claim the next sequence, waiting while the ring is full. The caller
+     * must fill get(sequence) and publish(sequence) — an unpublished claim
+     * stalls the consumer at that slot.
+     *
+     * Throws IllegalStateException once the sequencer is shut down. A claim
+     * that loses the race with shutdown() is published empty before the
+     * throw, so the draining consumer moves past it.
+     */
+    public long next() {
+        if (!running)
+            throw new IllegalStateException("Sequencer is shut down.");
+        long sequence = cursor.getAndIncrement() + 1;
+        long wrap     = sequence - ring.length;
+        int  attempts = 0;
+        while (wrap > consumed.get()) {             // a shut-down consumer still drains to the cursor
+            if (!consumer.isAlive())
+                throw new IllegalStateException("Sequencer consumer has stopped.");
+            attempts = waitStrategy.idle(attempts);
+        }
+        if (!running) {                 // claimed after shutdown began: nobody may see a command in this slot
+            get(sequence).kind = null;
+            publish(sequence);
+            throw new IllegalStateException("Sequencer is shut down.");
+        }
+        get(sequence).sequence = sequence;          // the slot is ours now: NEW ids derive from it
+        return sequence;
+    }
+
+    /**
+     * Id of the order a NEW command claimed at this sequence creates. Ids
+     * sit in their own range, above anything the process-wide generator
+     * reaches, so they never collide with orders created directly.
+     */
+    public static long orderIdFor(long sequence) {
+        return SEQUENCED_ID_BASE | sequence;
+    }
+
+    /** The slot for a claimed sequence. */
+    public OrderCommand get(long sequence) {
+        return ring[(int) (sequence & mask)];
+    }
+
+    /** Hand a filled slot to the consumer. */
+    public void publish(long sequence) {
+        published.lazySet((int) (sequence & mask), sequence);     // release: slot writes happen-before
+    }
+
+    /**
+     * Claim, fill and publish in one call.
+     *
+     * @return the command's sequence
+     */
+    public long submit(Consumer<OrderCommand> fill) {
+        long sequence = next();
+        try {
+            fill.accept(get(sequence));
+        } catch (RuntimeException ex) {
+            get(sequence).kind = null;      // publish an empty slot so the consumer can move past it
+            publish(sequence);
+            throw ex;
+        }
+        publish(sequence);
+        return sequence;
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /**
+     * Stop accepting commands, apply everything claimed before the stop
+     * (waiting for those claims to be published), then stop the consumer
+     * thread.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        consumer.join();
+    }
+
+    /**
+     * Wait until the consumer has applied every command claimed so far.
+     */
+    public void awaitApplied() {
+        long target   = cursor.get();
+        int  attempts = 0;
+        while (consumed.get() < target && consumer.isAlive()) attempts = waitStrategy.idle(attempts);
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public int  getBufferSize()        { return ring.length; }
+    public long getPublishedSequence() { return cursor.get(); }
+    public long getAppliedSequence()   { return consumed.get(); }
+
+    // ── Consumer Loop ─────────────────────────────────────────────────────────
+
+    private void consume() {
+        long next     = 0;
+        int  attempts = 0;
+        while (running || next <= cursor.get()) {      // after shutdown, drain every claimed slot
+            long last = next - 1;
+            while (isPublished(last + 1)) last++;
+
+            if (last < next) {
+                attempts = waitStrategy.idle(attempts);
+                continue;
+            }
+            for (long s = next; s <= last; s++) apply(ring[(int) (s & mask)]);
+            consumed.lazySet(last);                                     // frees the slots for producers
+            next     = last + 1;
+            attempts = 0;
+        }
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) (sequence & mask)) == sequence;
+    }
+
+    private void apply(OrderCommand cmd) {
+        if (cmd.kind == null) return;
+        try {
+            switch (cmd.kind) {
+                case NEW -> {
+                    Order order = engine.newOrder(cmd.orderId, cmd.symbol, cmd.side, cmd.type, cmd.price,
+                                                  cmd.stopPrice, cmd.quantity, cmd.owner);
+                    if (cmd.expiresAt != 0) order.goodTill(cmd.expiresAt);
+                    engine.process(order);
+                }
+                case CANCEL -> engine.cancel(cmd.symbol, cmd.orderId);
+                case AMEND  -> engine.amend(cmd.symbol, cmd.orderId, cmd.price, cmd.quantity);
+            }
+        } catch (RuntimeException ex) {
+            engine.reject(cmd.symbol, cmd.orderId, ex.getMessage());
+        } finally {
+            cmd.kind   = null;          // never re-applied, and no references held until the next lap
+            cmd.symbol = null;
+            cmd.owner  = null;
+        }
+    }
+}
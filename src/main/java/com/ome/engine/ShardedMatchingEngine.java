@@ -0,0 +1,380 @@
+package com.ome.engine;
+
+import com.ome.audit.AuditLog;
+import com.ome.book.BookConfig;
+import com.ome.book.BookSide;
+import com.ome.book.OrderBook;
+import com.ome.feed.EventBus;
+import com.ome.model.Order;
+import com.ome.model.OrderType;
+import com.ome.model.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Multi-threaded front end over N single-threaded MatchingEngines.
+ *
+ *   symbol ──hash──► shard k ──► inbound queue ──► shard thread ──► its books
+ *
+ * Each shard is a MatchingEngine run by one dedicated thread, the only
+ * thread that ever touches that shard's OrderBooks, counters and expiry
+ * wheel — books stay lock-free, and symbols on different shards match in
+ * parallel. A symbol always hashes to the same shard, so its orders are
+ * matched in the order they were submitted.
+ *
+ * submit() is asynchronous: the order is queued (blocking if the shard's
+ * queue is full — orders are never dropped) and matched with process(),
+ * so fills reach subscribers as pooled Trades on the shared EventBus.
+ * Everything else — cancel, amend, auctions — runs on the owning shard and
+ * completes a CompletableFuture. flush() waits until every shard has
+ * drained what was queued before it.
+ *
+ * Orders go on the queue as they are; only non-order commands allocate.
+ */
+public class ShardedMatchingEngine {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+    private static final int DEFAULT_POOL_CAPACITY  = 65_536;
+
+    private final    Shard[] shards;
+    private volatile boolean running = true;
+
+    public ShardedMatchingEngine(EventBus eventBus, int shardCount) {
+        this(eventBus, shardCount, DEFAULT_QUEUE_CAPACITY, DEFAULT_POOL_CAPACITY);
+    }
+
+    /**
+     * @param shardCount    number of shard threads, e.g. one per core reserved for matching
+     * @param queueCapacity inbound commands buffered per shard before submit() blocks
+     * @param poolCapacity  order / trade pool capacity of each shard
+     */
+    public ShardedMatchingEngine(EventBus eventBus, int shardCount, int queueCapacity, int poolCapacity) {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("Shard count must be positive. Got: " + shardCount);
+        if (queueCapacity <= 0)
+            throw new IllegalArgumentException("Queue capacity must be positive. Got: " + queueCapacity);
+
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, new MatchingEngine(eventBus, poolCapacity), queueCapacity);
+        }
+        for (Shard shard : shards) shard.thread.start();
+    }
+
+    // ── Order Entry ───────────────────────────────────────────────────────────
+
+    /**
+     * Pooled order from the pool of the shard that will match it.
+     */
+    public Order newOrder(String symbol, Side side, OrderType type, double price, int quantity) {
+        return shardFor(symbol).engine.newOrder(symbol, side, type, price, quantity);
+    }
+
+    public Order newOrder(String symbol, Side side, OrderType type, double price, int quantity,
+                          String owner) {
+        return shardFor(symbol).engine.newOrder(symbol, side, type, price, quantity, owner);
+    }
+
+    /** Pooled STOP / STOP_LIMIT order, as MatchingEngine.newOrder. */
+    public Order newOrder(String symbol, Side side, OrderType type, double price, double stopPrice,
+                          int quantity, String owner) {
+        return shardFor(symbol).engine.newOrder(symbol, side, type, price, stopPrice, quantity, owner);
+    }
+
+    /**
+     * Queue an order on its symbol's shard. Ownership passes to the engine
+     * as with MatchingEngine.process(); results arrive on the EventBus.
+     */
+    public void submit(Order order) {
+        shardFor(order.getSymbol()).enqueue(order);
+    }
+
+    /**
+     * Queue a burst of orders; each symbol's orders keep their relative order.
+     */
+    public void submitBatch(List<Order> orders) {
+        for (Order order : orders) submit(order);
+    }
+
+    // ── Commands ──────────────────────────────────────────────────────────────
+
+    public CompletableFuture<Boolean> cancel(String symbol, long orderId) {
+        return onShard(symbol, engine -> engine.cancel(symbol, orderId));
+    }
+
+    public CompletableFuture<Boolean> amend(String symbol, long orderId, double newPrice, int newQuantity) {
+        return onShard(symbol, engine -> engine.amend(symbol, orderId, newPrice, newQuantity));
+    }
+
+    public CompletableFuture<Integer> massCancel(String owner, String symbol, Side side) {
+        return onShard(symbol, engine -> engine.massCancel(owner, symbol, side));
+    }
+
+    /**
+     * Cancel an owner's orders on every shard. Completes with the total.
+     */
+    public CompletableFuture<Integer> massCancel(String owner) {
+        CompletableFuture<Integer> total = CompletableFuture.completedFuture(0);
+        for (Shard shard : shards) {
+            total = total.thenCombine(shard.call(engine -> engine.massCancel(owner)), Integer::sum);
+        }
+        return total;
+    }
+
+    public CompletableFuture<Void> beginAuction(String symbol) {
+        return onShard(symbol, engine -> { engine.beginAuction(symbol); return null; });
+    }
+
+    public CompletableFuture<Long> uncross(String symbol) {
+        return onShard(symbol, engine -> engine.uncross(symbol));
+    }
+
+    /**
+     * Run a function on the shard that owns symbol, on that shard's thread,
+     * after everything already queued for it. The way to read a book
+     * consistently while the engine is running.
+     */
+    public <T> CompletableFuture<T> onShard(String symbol, Function<MatchingEngine, T> action) {
+        return shardFor(symbol).call(action);
+    }
+
+    /**
+     * Completes once every shard has processed all commands queued before
+     * this call.
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<?>[] barriers = new CompletableFuture<?>[shards.length];
+        for (int i = 0; i < shards.length; i++) barriers[i] = shards[i].call(engine -> null);
+        return CompletableFuture.allOf(barriers);
+    }
+
+    // ── Configuration ─────────────────────────────────────────────────────────
+
+    /**
+     * Configure a symbol's book; as with MatchingEngine, before its first order.
+     */
+    public void setBookConfig(String symbol, BookConfig config) {
+        shardFor(symbol).engine.setBookConfig(symbol, config);
+    }
+
+    public void setBookLayout(String symbol, BookSide.Factory layout) {
+        shardFor(symbol).engine.setBookLayout(symbol, layout);
+    }
+
+    public void setDefaultBookConfig(BookConfig config) {
+        for (Shard shard : shards) shard.engine.setDefaultBookConfig(config);
+    }
+
+    public void setClock(LongSupplier clock) {
+        for (Shard shard : shards) shard.engine.setClock(clock);
+    }
+
+    /** One log for every shard; AsyncAuditLog takes records from many threads. */
+    public void setAuditLog(AuditLog log) {
+        for (Shard shard : shards) shard.engine.setAuditLog(log);
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /**
+     * Stop accepting work, let every shard drain its queue, then close the
+     * books. Anything queued too late for its shard thread is rejected:
+     * commands complete exceptionally and orders are released.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) shard.thread.join();
+        for (Shard shard : shards) shard.rejectLeftovers();
+        for (Shard shard : shards) shard.engine.close();
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public int getShardCount() { return shards.length; }
+
+    /** Shard index a symbol is routed to. */
+    public int shardOf(String symbol) {
+        int h = symbol.toUpperCase().hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * A shard's engine. Its books belong to the shard thread: read them
+     * through onShard(), or after flush() while nothing else is submitted.
+     */
+    public MatchingEngine getShard(int index) { return shards[index].engine; }
+
+    /**
+     * The book for a symbol, or null — subject to the same rule as getShard().
+     */
+    public OrderBook getBook(String symbol) {
+        return shardFor(symbol).engine.getBook(symbol);
+    }
+
+    /** Orders processed across all shards; exact once flush() has completed. */
+    public long getTotalOrders() {
+        long total = 0;
+        for (Shard shard : shards) total += shard.engine.getTotalOrders();
+        return total;
+    }
+
+    /** Trades generated across all shards; exact once flush() has completed. */
+    public long getTotalTrades() {
+        long total = 0;
+        for (Shard shard : shards) total += shard.engine.getTotalTrades();
+        return total;
+    }
+
+    /**
+     * Every shard's counters summed by name. Readable from any thread while
+     * the shards run; each shard counts into its own cells.
+     */
+    public SortedMap<String, Long> getMetrics() {
+        SortedMap<String, Long> total = new TreeMap<>();
+        for (Shard shard : shards) {
+            shard.engine.getMetrics().snapshot().forEach((name, value) -> total.merge(name, value, Long::sum));
+        }
+        return total;
+    }
+
+    public void printStats() {
+        System.out.println();
+        System.out.println("┌─────────────────────────────────────┐");
+        System.out.println("│     SHARDED ENGINE STATISTICS       │");
+        System.out.println("├─────────────────────────────────────┤");
+        System.out.printf ("│  Shards:                 %-10d │%n", shards.length);
+        System.out.printf ("│  Total Orders Processed: %-10d │%n", getTotalOrders());
+        System.out.printf ("│  Total Trades Generated: %-10d │%n", getTotalTrades());
+        for (Shard shard : shards) {
+            System.out.printf("│  Shard %-2d books / orders: %-8s │%n", shard.index,
+                    shard.engine.getBookCount() + " / " + shard.engine.getTotalOrders());
+        }
+        System.out.println("└─────────────────────────────────────┘");
+        System.out.println();
+    }
+
+    // ── Private Helpers ───────────────────────────────────────────────────────
+
+    private Shard shardFor(String symbol) {
+        return shards[shardOf(symbol)];
+    }
+
+    /**
+     * One shard: an engine, its inbound queue and the thread that drains it.
+     * The queue holds Orders (matched with process()) and Commands.
+     */
+    private final class Shard {
+
+        private final int                   index;
+        private final MatchingEngine        engine;
+        private final BlockingQueue<Object> inbound;
+        private final Thread                thread;
+
+        Shard(int index, MatchingEngine engine, int queueCapacity) {
+            this.index   = index;
+            this.engine  = engine;
+            this.inbound = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread  = new Thread(this::run, "MatchingShard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Queue an item. A put racing with shutdown() is taken back if still
+         * queued; otherwise the shard thread or rejectLeftovers() owns it.
+         */
+        void enqueue(Object item) {
+            if (!running)
+                throw new IllegalStateException("Sharded engine is shut down.");
+            try {
+                inbound.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing for shard " + index, e);
+            }
+            if (!running && inbound.remove(item))
+                throw new IllegalStateException("Sharded engine is shut down.");
+        }
+
+        <T> CompletableFuture<T> call(Function<MatchingEngine, T> action) {
+            Command<T> command = new Command<>(action);
+            enqueue(command);
+            return command.result;
+        }
+
+        private void run() {
+            List<Object> drained = new ArrayList<>();
+            while (running || !inbound.isEmpty()) {
+                try {
+                    Object first = inbound.poll(1, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        engine.expireOrders();       // keep GTD expiry moving while idle
+                        continue;
+                    }
+                    handle(first);
+                    inbound.drainTo(drained);
+                    for (Object item : drained) handle(item);
+                    drained.clear();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        /** After the shard thread has exited: fail whatever is still queued. */
+        void rejectLeftovers() {
+            List<Object> leftovers = new ArrayList<>();
+            inbound.drainTo(leftovers);
+            for (Object item : leftovers) {
+                if (item instanceof Order order) {
+                    engine.reject(order.getSymbol(), order.getOrderId(), "Sharded engine is shut down.");
+                    order.release();
+                } else {
+                    engine.reject(null, 0, "Sharded engine is shut down.");
+                    ((Command<?>) item).result.completeExceptionally(
+                            new IllegalStateException("Sharded engine is shut down."));
+                }
+            }
+        }
+
+        private void handle(Object item) {
+            try {
+                if (item instanceof Order order) engine.process(order);
+                else                             ((Command<?>) item).run(engine);
+            } catch (RuntimeException ex) {
+                if (item instanceof Order order) engine.reject(order.getSymbol(), order.getOrderId(), ex.getMessage());
+                else                             engine.reject(null, 0, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Non-order work for a shard, completed on the shard thread.
+     */
+    private static final class Command<T> {
+
+        private final Function<MatchingEngine, T> action;
+        private final CompletableFuture<T>        result = new CompletableFuture<>();
+
+        Command(Function<MatchingEngine, T> action) {
+            this.action = action;
+        }
+
+        void run(MatchingEngine engine) {
+            try {
+                result.complete(action.apply(engine));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ome.engine;
+
+import com.ome.book.OrderBook;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of order expiries (good-till-date / good-till-time).
+ *
+ *   slot = (deadline / tick) mod slots
+ *
+ * Each slot is an intrusive singly-linked list of entries held in parallel
+ * arrays — deadline, book, order id — with a free list, like the order
+ * store, so scheduling allocates nothing once the arrays have grown.
+ *
+ *   schedule : O(1)
+ *   advance  : O(slots passed + entries in them); an entry due in a later
+ *              rotation is only inspected, not fired, as the cursor passes
+ *
+ * Expiry is a cancel by order id through the book's order index — O(1),
+ * no book is ever scanned. Entries are not removed when an order fills or
+ * is cancelled early; they fire into a cancel that finds nothing.
+ *
+ * Runs on the engine thread; not thread-safe.
+ */
+public final class TimerWheel {
+
+    /** What to do with an order whose time is up. */
+    @FunctionalInterface
+    public interface Expiry {
+        void expire(OrderBook book, long orderId);
+    }
+
+    private static final int NIL = -1;
+
+    private final long  tickMillis;
+    private final int   mask;
+    private final int[] heads;
+
+    // Entries by index
+    private long[]      deadlines;
+    private long[]      orderIds;
+    private OrderBook[] books;
+    private int[]       next;
+    private int         freeHead = NIL;
+    private int         used;            // high-water mark of entry indices
+    private int         size;
+
+    private long currentTick = -1;       // last tick visited, -1 before the first advance
+
+    /**
+     * @param slots      wheel size, rounded up to a power of two
+     * @param tickMillis time covered by one slot; expiry precision
+     */
+    public TimerWheel(int slots, long tickMillis) {
+        if (slots <= 0)
+            throw new IllegalArgumentException("Wheel slots must be positive. Got: " + slots);
+        if (tickMillis <= 0)
+            throw new IllegalArgumentException("Wheel tick must be positive. Got: " + tickMillis);
+        int wheel = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask       = wheel - 1;
+        this.heads      = new int[wheel];
+        Arrays.fill(heads, NIL);
+
+        deadlines = new long[64];
+        orderIds  = new long[64];
+        books     = new OrderBook[64];
+        next      = new int[64];
+    }
+
+    /**
+     * Expire the order at deadlineMillis (or at the first advance after
+     * it). A deadline already in the past fires on the next advance.
+     */
+    public void schedule(long deadlineMillis, OrderBook book, long orderId) {
+        int e = allocate();
+        deadlines[e] = deadlineMillis;
+        orderIds[e]  = orderId;
+        books[e]     = book;
+
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        int  slot = (int) (tick & mask);
+        next[e]     = heads[slot];
+        heads[slot] = e;
+        size++;
+    }
+
+    /**
+     * Move the wheel to nowMillis, firing every entry whose deadline has
+     * passed. Visits each slot between the last advance and now once — at
+     * most one full rotation however long the gap.
+     *
+     * @return number of entries fired
+     */
+    public int advance(long nowMillis, Expiry expiry) {
+        long target = nowMillis / tickMillis;
+        if (currentTick < 0) currentTick = target;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, target);
+            return 0;
+        }
+
+        long from  = currentTick;
+        long steps = Math.min(target - from, mask);    // inclusive range [from, from + steps]
+        int  fired = 0;
+        for (long t = from; t <= from + steps; t++) {
+            fired += fireSlot((int) (t & mask), nowMillis, expiry);
+        }
+        currentTick = Math.max(currentTick, target);
+        return fired;
+    }
+
+    public int size() { return size; }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private int fireSlot(int slot, long nowMillis, Expiry expiry) {
+        int fired = 0;
+        int prev  = NIL;
+        int e     = heads[slot];
+        while (e != NIL) {
+            int after = next[e];
+            if (deadlines[e] <= nowMillis) {
+                if (prev == NIL) heads[slot] = after;
+                else             next[prev]  = after;
+                OrderBook book = books[e];
+                long      id   = orderIds[e];
+                free(e);
+                expiry.expire(book, id);
+                fired++;
+            } else {
+                prev = e;
+            }
+            e = after;
+        }
+        return fired;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int e = freeHead;
+            freeHead = next[e];
+            return e;
+        }
+        if (used == deadlines.length) {
+            int cap   = used << 1;
+            deadlines = Arrays.copyOf(deadlines, cap);
+            orderIds  = Arrays.copyOf(orderIds, cap);
+            books     = Arrays.copyOf(books, cap);
+            next      = Arrays.copyOf(next, cap);
+        }
+        return used++;
+    }
+
+    private void free(int e) {
+        books[e] = null;
+        next[e]  = freeHead;
+        freeHead = e;
+        size--;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ome.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits on the OrderSequencer ring — the consumer for new
+ * commands, producers for a free slot. Trades CPU for wake-up latency:
+ *
+ *   BUSY_SPIN : onSpinWait() forever — lowest latency, burns a whole core
+ *   YIELD     : spin briefly, then Thread.yield() — leaves the core to others
+ *   PARK      : spin, yield, then parkNanos — near-idle CPU, wakes in ~50-100 µs
+ */
+public enum WaitStrategy {
+
+    BUSY_SPIN {
+        @Override
+        int idle(int attempts) {
+            Thread.onSpinWait();
+            return attempts + 1;
+        }
+    },
+
+    YIELD {
+        @Override
+        int idle(int attempts) {
+            if (attempts < SPIN_TRIES) Thread.onSpinWait();
+            else                       Thread.yield();
+            return attempts + 1;
+        }
+    },
+
+    PARK {
+        @Override
+        int idle(int attempts) {
+            if      (attempts < SPIN_TRIES)               Thread.onSpinWait();
+            else if (attempts < SPIN_TRIES + YIELD_TRIES) Thread.yield();
+            else                                          LockSupport.parkNanos(PARK_NANOS);
+            return attempts + 1;
+        }
+    };
+
+    private static final int  SPIN_TRIES  = 100;
+    private static final int  YIELD_TRIES = 100;
+    private static final long PARK_NANOS  = 50_000;
+
+    /**
+     * Wait once. Called with 0 after each successful read and with the
+     * returned value while nothing arrives, so strategies can back off.
+     */
+    abstract int idle(int attempts);
+}
@@ -1,15 +1,23 @@
 package com.ome.exchange;
 
+import com.ome.audit.AsyncAuditLog;
+import com.ome.audit.ConsoleAuditSink;
+import com.ome.book.BookConfig;
+import com.ome.book.BookSide;
 import com.ome.engine.MatchingEngine;
+import com.ome.engine.OrderSequencer;
+import com.ome.engine.WaitStrategy;
 import com.ome.feed.EventBus;
 import com.ome.marketdata.MarketDataService;
 import com.ome.marketdata.MarketDataSnapshot;
 import com.ome.model.Order;
+import com.ome.model.Side;
 import com.ome.model.Trade;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 /**
  * Exchange is the top-level facade.
@@ -26,17 +34,45 @@ public class Exchange {
     private final EventBus          eventBus;
     private final MatchingEngine    engine;
     private final MarketDataService marketData;
+    private final AsyncAuditLog     auditLog;
+
+    public static final String METRIC_EVENTS_DROPPED = "events.dropped";
+    public static final String METRIC_AUDIT_DROPPED  = "audit.dropped";
 
     public Exchange(String name) {
         this.name      = name;
         this.eventBus  = new EventBus();
         this.engine    = new MatchingEngine(eventBus);
+        this.auditLog  = new AsyncAuditLog();
+        engine.setAuditLog(auditLog);
+        engine.getMetrics().register(METRIC_EVENTS_DROPPED, eventBus.getDroppedCounter());
+        engine.getMetrics().register(METRIC_AUDIT_DROPPED,  auditLog.getDroppedCounter());
 
         // Wire MarketDataService: it needs a way to get the latest OrderBook per symbol
         Map<String, java.util.function.Supplier<com.ome.book.OrderBook>> bookSuppliers = new HashMap<>();
         // We use a lambda that lazily reads from the engine
         this.marketData = new MarketDataService(eventBus,
-                new LazyBookSupplierMap(engine));
+                new LazyBookSupplierMap(engine), auditLog);
+    }
+
+    // ── Audit ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Print cancels, amends, latencies and market data snapshots to the
+     * console, formatted on the audit thread. Off by default.
+     */
+    public void enableConsoleLog() {
+        auditLog.addSink(new ConsoleAuditSink());
+    }
+
+    public AsyncAuditLog getAuditLog() { return auditLog; }
+
+    /**
+     * Engine counters plus EventBus and audit drops, by name. Safe to call
+     * from a monitoring thread at any time.
+     */
+    public SortedMap<String, Long> getMetrics() {
+        return engine.getMetrics().snapshot();
     }
 
     // ── Order Management ──────────────────────────────────────────────────────
@@ -48,6 +84,22 @@ public class Exchange {
         return engine.submit(order);
     }
 
+    /**
+     * Submit a burst of orders in arrival order. Returns all trades generated.
+     */
+    public List<Trade> submitBatch(List<Order> orders) {
+        return engine.submitBatch(orders);
+    }
+
+    /**
+     * Start a ring-buffer sequencer in front of the engine for gateways on
+     * many threads. From then on all order flow should go through it; the
+     * direct submit / cancel / amend methods are for single-threaded use.
+     */
+    public OrderSequencer startSequencer(int bufferSize, WaitStrategy waitStrategy) {
+        return new OrderSequencer(engine, bufferSize, waitStrategy);
+    }
+
     /**
      * Cancel a resting order.
      */
@@ -55,6 +107,62 @@ public class Exchange {
         return engine.cancel(symbol, orderId);
     }
 
+    /**
+     * Cancel everything an owner has resting — e.g. on session disconnect.
+     */
+    public int massCancel(String owner) {
+        return engine.massCancel(owner);
+    }
+
+    /**
+     * Cancel an owner's resting orders in one symbol; side == null for both.
+     */
+    public int massCancel(String owner, String symbol, Side side) {
+        return engine.massCancel(owner, symbol, side);
+    }
+
+    /**
+     * Amend a resting order's price and/or open quantity.
+     */
+    public boolean amend(String symbol, long orderId, double newPrice, int newQuantity) {
+        return engine.amend(symbol, orderId, newPrice, newQuantity);
+    }
+
+    /**
+     * Cancel good-till-date orders whose expiry has passed. Returns the count.
+     */
+    public int expireOrders() {
+        return engine.expireOrders();
+    }
+
+    /**
+     * Open a call auction for a symbol — e.g. before the open or the close.
+     */
+    public void beginAuction(String symbol) {
+        engine.beginAuction(symbol);
+    }
+
+    /**
+     * Uncross a symbol's auction at its equilibrium price. Returns the volume.
+     */
+    public long uncross(String symbol) {
+        return engine.uncross(symbol);
+    }
+
+    /**
+     * Choose the order book storage for a symbol before it starts trading.
+     */
+    public void setBookLayout(String symbol, BookSide.Factory layout) {
+        engine.setBookLayout(symbol, layout);
+    }
+
+    /**
+     * Full per-symbol book configuration (layout, order store, sizing).
+     */
+    public void setBookConfig(String symbol, BookConfig config) {
+        engine.setBookConfig(symbol, config);
+    }
+
     // ── Market Data ───────────────────────────────────────────────────────────
 
     public MarketDataSnapshot getSnapshot(String symbol) {
@@ -77,6 +185,8 @@ public class Exchange {
 
     public void shutdown() throws InterruptedException {
         eventBus.shutdown();
+        engine.close();
+        auditLog.shutdown();
         System.out.printf("🔒 Exchange [%s] shut down.%n", name);
     }
 
@@ -1,5 +1,7 @@
 package com.ome.feed;
 
+import com.ome.metrics.StripedCounter;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +23,8 @@ import java.util.concurrent.LinkedBlockingQueue;
  *
  * Uses a LinkedBlockingQueue (bounded) so the engine never blocks on
  * slow consumers; events are dropped and counted if the queue overflows.
+ * The drop counter is striped: any number of publisher threads can count
+ * without sharing a cache line.
  */
 public class EventBus {
 
@@ -30,7 +34,7 @@ public class EventBus {
     private final Map<MarketEvent.EventType, List<EventSubscriber>>    subscribers;
     private final Thread                                               dispatcher;
     private       volatile boolean                                     running;
-    private       long                                                 droppedEvents;
+    private final StripedCounter                                       droppedEvents = new StripedCounter();
 
     @FunctionalInterface
     public interface EventSubscriber {
@@ -54,13 +58,25 @@ public class EventBus {
 
     /**
      * Publish an event. Non-blocking: drops event and increments counter if queue full.
+     * A dropped event is released immediately so pooled payloads are not leaked.
      */
     public void publish(MarketEvent event) {
         if (!queue.offer(event)) {
-            droppedEvents++;
+            droppedEvents.add((event instanceof Batch b) ? b.events.length : 1);
+            event.onDispatched();
         }
     }
 
+    /**
+     * Publish a batch of events as one queue entry; subscribers still see
+     * them one by one, in list order. The list may be reused once this
+     * returns. If the queue is full the whole batch is dropped.
+     */
+    public void publishAll(List<? extends MarketEvent> events) {
+        if (events.isEmpty()) return;
+        publish(new Batch(events.toArray(new MarketEvent[0])));
+    }
+
     /**
      * Subscribe to a specific event type.
      */
@@ -74,11 +90,15 @@ public class EventBus {
     public void shutdown() throws InterruptedException {
         running = false;
         dispatcher.join(500);
-        if (droppedEvents > 0)
-            System.out.printf("⚠️  EventBus: %d events were dropped (queue overflow).%n", droppedEvents);
+        long dropped = droppedEvents.sum();
+        if (dropped > 0)
+            System.out.printf("⚠️  EventBus: %d events were dropped (queue overflow).%n", dropped);
     }
 
-    public long getDroppedEvents() { return droppedEvents; }
+    public long           getDroppedEvents()  { return droppedEvents.sum(); }
+
+    /** The live drop counter, for a MetricsRegistry. */
+    public StripedCounter getDroppedCounter() { return droppedEvents; }
 
     // ── Dispatcher Loop ───────────────────────────────────────────────────────
 
@@ -86,8 +106,14 @@ public class EventBus {
         while (running || !queue.isEmpty()) {
             try {
                 MarketEvent event = queue.poll();
-                if (event != null) {
+                if (event instanceof Batch batch) {
+                    for (MarketEvent e : batch.events) {
+                        notifySubscribers(e);
+                        e.onDispatched();
+                    }
+                } else if (event != null) {
                     notifySubscribers(event);
+                    event.onDispatched();
                 } else {
                     Thread.sleep(1);
                 }
@@ -109,4 +135,26 @@ public class EventBus {
             }
         }
     }
+
+    /**
+     * Queue carrier for publishAll(). Never reaches a subscriber.
+     */
+    private static final class Batch implements MarketEvent {
+
+        private final MarketEvent[] events;
+
+        Batch(MarketEvent[] events) {
+            this.events = events;
+        }
+
+        @Override
+        public EventType getType() {
+            return events[0].getType();
+        }
+
+        @Override
+        public void onDispatched() {
+            for (MarketEvent e : events) e.onDispatched();
+        }
+    }
 }
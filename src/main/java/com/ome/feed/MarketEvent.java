@@ -14,4 +14,13 @@ public interface MarketEvent {
     }
 
     EventType getType();
+
+    /**
+     * Called by the EventBus once every subscriber has seen this event, or
+     * when the event is dropped. Events carrying pooled orders or trades
+     * release their reference here; subscribers that keep the payload must
+     * retain() it themselves.
+     */
+    default void onDispatched() {
+    }
 }
@@ -22,12 +22,18 @@ public class OrderEvent implements MarketEvent {
         this.type        = type;
         this.order       = order;
         this.publishedAt = System.nanoTime();
+        order.retain();    // held until the dispatcher is done with us
     }
 
     public Order getOrder()       { return order; }
     public Type  getOrderType()   { return type; }
     public long  getPublishedAt() { return publishedAt; }
 
+    @Override
+    public void onDispatched() {
+        order.release();
+    }
+
     @Override
     public EventType getType() {
         return switch (type) {
@@ -13,6 +13,7 @@ public class TradeEvent implements MarketEvent {
     public TradeEvent(Trade trade) {
         this.trade       = trade;
         this.publishedAt = System.nanoTime();
+        trade.retain();    // held until the dispatcher is done with us
     }
 
     public Trade getTrade()       { return trade; }
@@ -21,6 +22,11 @@ public class TradeEvent implements MarketEvent {
     @Override
     public EventType getType() { return EventType.TRADE; }
 
+    @Override
+    public void onDispatched() {
+        trade.release();
+    }
+
     @Override
     public String toString() {
         return "[TRADE_EVENT] " + trade;
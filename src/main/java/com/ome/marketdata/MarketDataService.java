@@ -1,5 +1,6 @@
 package com.ome.marketdata;
 
+import com.ome.audit.AuditLog;
 import com.ome.book.OrderBook;
 import com.ome.feed.EventBus;
 import com.ome.feed.MarketEvent;
@@ -27,9 +28,18 @@ public class MarketDataService {
 
     // Books reference needed to read bid/ask depth after a trade
     private final Map<String, Supplier<OrderBook>> bookProvider;
+    private final AuditLog                         log;
 
     public MarketDataService(EventBus eventBus, Map<String, Supplier<OrderBook>> bookProvider) {
+        this(eventBus, bookProvider, AuditLog.NONE);
+    }
+
+    /**
+     * @param log receives a SNAPSHOT record per refresh (printed by a ConsoleAuditSink, if any)
+     */
+    public MarketDataService(EventBus eventBus, Map<String, Supplier<OrderBook>> bookProvider, AuditLog log) {
         this.bookProvider = bookProvider;
+        this.log          = log;
 
         // Subscribe to trade events — each trade triggers a snapshot refresh
         eventBus.subscribe(MarketEvent.EventType.TRADE, event -> {
@@ -48,16 +58,18 @@ public class MarketDataService {
         OrderBook book = supplier.get();
         if (book == null) return;
 
-        double spread   = book.getSpread();
+        long   bid      = book.getBestBidTicks();
+        long   ask      = book.getBestAskTicks();
         double midPrice = book.getMidPrice();
 
         MarketDataSnapshot snap = new MarketDataSnapshot.Builder()
                 .symbol(symbol)
-                .bestBid(book.getBestBid())
-                .bestAsk(book.getBestAsk())
-                .spread(Double.isNaN(spread) ? 0 : spread)
+                .tickSize(book.getTickSize())
+                .bestBidTicks(bid)
+                .bestAskTicks(ask)
+                .spreadTicks(bid == 0 || ask == 0 ? 0 : ask - bid)
                 .midPrice(Double.isNaN(midPrice) ? 0 : midPrice)
-                .lastTradePrice(book.getLastTradePrice())
+                .lastTradePriceTicks(book.getLastTradePriceTicks())
                 .vwap(book.getVWAP())
                 .totalVolume(book.getTotalVolume())
                 .bidDepth(book.getBidDepth())
@@ -65,7 +77,7 @@ public class MarketDataService {
                 .build();
 
         snapshots.put(symbol, snap);
-        System.out.println("  " + snap);
+        log.record(AuditLog.Type.SNAPSHOT, symbol, null, bid, ask, book.getLastTradePriceTicks(), book.getTotalVolume());
     }
 
     // ── Public API ────────────────────────────────────────────────────────────
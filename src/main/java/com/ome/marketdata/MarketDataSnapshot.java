@@ -1,5 +1,7 @@
 package com.ome.marketdata;
 
+import com.ome.model.TickSize;
+
 import java.time.Instant;
 
 /**
@@ -7,29 +9,34 @@ import java.time.Instant;
  *
  * In a real system this would be serialized and disseminated over FAST/ITCH/SBE
  * to downstream consumers: trading terminals, risk engines, algo strategies.
+ *
+ * Prices are captured in ticks exactly as the book holds them; the double
+ * getters convert with the symbol's TickSize for display and external APIs.
  */
 public final class MarketDataSnapshot {
 
-    private final String  symbol;
-    private final double  bestBid;
-    private final double  bestAsk;
-    private final double  spread;
-    private final double  midPrice;
-    private final double  lastTradePrice;
-    private final double  vwap;
+    private final String   symbol;
+    private final TickSize tickSize;
+    private final long     bestBidTicks;
+    private final long     bestAskTicks;
+    private final long     spreadTicks;
+    private final double   midPrice;
+    private final long     lastTradePriceTicks;
+    private final double   vwap;
     private final long    totalVolume;
     private final int     bidDepth;     // total number of orders on the bid side
     private final int     askDepth;     // total number of orders on the ask side
     private final Instant capturedAt;
 
     private MarketDataSnapshot(Builder b) {
-        this.symbol         = b.symbol;
-        this.bestBid        = b.bestBid;
-        this.bestAsk        = b.bestAsk;
-        this.spread         = b.spread;
-        this.midPrice       = b.midPrice;
-        this.lastTradePrice = b.lastTradePrice;
-        this.vwap           = b.vwap;
+        this.symbol              = b.symbol;
+        this.tickSize            = b.tickSize;
+        this.bestBidTicks        = b.bestBidTicks;
+        this.bestAskTicks        = b.bestAskTicks;
+        this.spreadTicks         = b.spreadTicks;
+        this.midPrice            = b.midPrice;
+        this.lastTradePriceTicks = b.lastTradePriceTicks;
+        this.vwap                = b.vwap;
         this.totalVolume    = b.totalVolume;
         this.bidDepth       = b.bidDepth;
         this.askDepth       = b.askDepth;
@@ -38,33 +45,40 @@ public final class MarketDataSnapshot {
 
     // ── Getters ───────────────────────────────────────────────────────────────
 
-    public String  getSymbol()         { return symbol; }
-    public double  getBestBid()        { return bestBid; }
-    public double  getBestAsk()        { return bestAsk; }
-    public double  getSpread()         { return spread; }
-    public double  getMidPrice()       { return midPrice; }
-    public double  getLastTradePrice() { return lastTradePrice; }
-    public double  getVwap()           { return vwap; }
-    public long    getTotalVolume()    { return totalVolume; }
-    public int     getBidDepth()       { return bidDepth; }
-    public int     getAskDepth()       { return askDepth; }
-    public Instant getCapturedAt()     { return capturedAt; }
+    public String   getSymbol()               { return symbol; }
+    public double   getBestBid()              { return tickSize.toPrice(bestBidTicks); }
+    public double   getBestAsk()              { return tickSize.toPrice(bestAskTicks); }
+    public double   getSpread()               { return tickSize.toPrice(spreadTicks); }
+    public double   getMidPrice()             { return midPrice; }
+    public double   getLastTradePrice()       { return tickSize.toPrice(lastTradePriceTicks); }
+    public long     getBestBidTicks()         { return bestBidTicks; }
+    public long     getBestAskTicks()         { return bestAskTicks; }
+    public long     getSpreadTicks()          { return spreadTicks; }
+    public long     getLastTradePriceTicks()  { return lastTradePriceTicks; }
+    public TickSize getTickSize()             { return tickSize; }
+    public double   getVwap()                 { return vwap; }
+    public long     getTotalVolume()          { return totalVolume; }
+    public int      getBidDepth()             { return bidDepth; }
+    public int      getAskDepth()             { return askDepth; }
+    public Instant  getCapturedAt()           { return capturedAt; }
 
     // ── Builder ───────────────────────────────────────────────────────────────
 
     public static class Builder {
-        private String symbol;
-        private double bestBid, bestAsk, spread, midPrice;
-        private double lastTradePrice, vwap;
-        private long   totalVolume;
-        private int    bidDepth, askDepth;
+        private String   symbol;
+        private TickSize tickSize = TickSize.DEFAULT;
+        private long     bestBidTicks, bestAskTicks, spreadTicks, lastTradePriceTicks;
+        private double   midPrice, vwap;
+        private long     totalVolume;
+        private int      bidDepth, askDepth;
 
-        public Builder symbol(String v)         { this.symbol = v;         return this; }
-        public Builder bestBid(double v)        { this.bestBid = v;        return this; }
-        public Builder bestAsk(double v)        { this.bestAsk = v;        return this; }
-        public Builder spread(double v)         { this.spread = v;         return this; }
-        public Builder midPrice(double v)       { this.midPrice = v;       return this; }
-        public Builder lastTradePrice(double v) { this.lastTradePrice = v; return this; }
+        public Builder symbol(String v)            { this.symbol = v;              return this; }
+        public Builder tickSize(TickSize v)        { this.tickSize = v;            return this; }
+        public Builder bestBidTicks(long v)        { this.bestBidTicks = v;        return this; }
+        public Builder bestAskTicks(long v)        { this.bestAskTicks = v;        return this; }
+        public Builder spreadTicks(long v)         { this.spreadTicks = v;         return this; }
+        public Builder midPrice(double v)          { this.midPrice = v;            return this; }
+        public Builder lastTradePriceTicks(long v) { this.lastTradePriceTicks = v; return this; }
         public Builder vwap(double v)           { this.vwap = v;           return this; }
         public Builder totalVolume(long v)      { this.totalVolume = v;    return this; }
         public Builder bidDepth(int v)          { this.bidDepth = v;       return this; }
@@ -80,10 +94,10 @@ public final class MarketDataSnapshot {
         return String.format(
             "📊 %-5s | Bid: %7.2f | Ask: %7.2f | Spread: %5.2f | Mid: %7.2f | LTP: %7.2f | VWAP: %7.2f | Vol: %,d | @%s",
             symbol,
-            bestBid, bestAsk,
-            Double.isNaN(spread) ? 0 : spread,
+            getBestBid(), getBestAsk(),
+            getSpread(),
             Double.isNaN(midPrice) ? 0 : midPrice,
-            lastTradePrice, vwap, totalVolume,
+            getLastTradePrice(), vwap, totalVolume,
             capturedAt
         );
     }
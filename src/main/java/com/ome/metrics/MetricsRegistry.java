@@ -0,0 +1,48 @@
+package com.ome.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named StripedCounters, readable from a monitoring thread while the
+ * engine keeps counting.
+ *
+ * Counters are created once (counter() on setup) and the caller keeps the
+ * reference, so the hot path is a StripedCounter.add with no name lookup.
+ * register() lets a component that owns its own counter — EventBus drops,
+ * audit drops — publish it here under a name.
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, StripedCounter> counters = new ConcurrentHashMap<>();
+
+    /** The counter with this name, created on first use. */
+    public StripedCounter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new StripedCounter());
+    }
+
+    /**
+     * Publish an existing counter under a name. Registering the same counter
+     * twice is a no-op; a different counter under a taken name is an error.
+     */
+    public void register(String name, StripedCounter counter) {
+        StripedCounter existing = counters.putIfAbsent(name, counter);
+        if (existing != null && existing != counter)
+            throw new IllegalStateException("Metric " + name + " is already registered.");
+    }
+
+    /** Current value of a counter, 0 if there is none by that name. */
+    public long get(String name) {
+        StripedCounter counter = counters.get(name);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
+    /** Every counter's current value, by name. */
+    public SortedMap<String, Long> snapshot() {
+        SortedMap<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ome.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Monotonic counter spread over padded cells, one picked per thread.
+ *
+ *   add  : atomic add on the calling thread's cell — threads on different
+ *          cells never touch the same cache line
+ *   sum  : plain volatile reads of every cell, summed; never blocks a writer
+ *
+ * Cells sit PAD longs (128 bytes) apart in one AtomicLongArray, so two
+ * cells never share a cache line, nor an adjacent-line prefetch pair. A
+ * thread's cell comes from a hash of its id: a single-writer engine thread
+ * always hits the same uncontended cell, and many gateway threads mostly
+ * land on different ones. The stripe count is the next power of two at or
+ * above the core count, capped at MAX_STRIPES.
+ *
+ * sum() is not an atomic snapshot across cells — adds racing with it may or
+ * may not be included — which is all a monitoring read needs.
+ */
+public final class StripedCounter {
+
+    private static final int PAD         = 16;        // longs between cells: 128 bytes
+    private static final int MAX_STRIPES = 64;
+    private static final int STRIPES     =
+            Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final AtomicLongArray cells = new AtomicLongArray((STRIPES + 1) * PAD);   // + 1: pad the last cell too
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        cells.getAndAdd(cellIndex(), delta);
+    }
+
+    public long sum() {
+        long total = 0;
+        for (int i = 1; i <= STRIPES; i++) total += cells.get(i * PAD);
+        return total;
+    }
+
+    /** Stripes per counter on this machine. */
+    public static int stripes() { return STRIPES; }
+
+    private static int cellIndex() {
+        long id = Thread.currentThread().getId();
+        int  h  = (int) (id * 0x9E3779B97F4A7C15L >>> 32);      // Fibonacci hash: consecutive ids spread out
+        return ((h & (STRIPES - 1)) + 1) * PAD;                 // cell 0 left empty: no neighbour in front either
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
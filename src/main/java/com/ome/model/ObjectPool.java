@@ -0,0 +1,59 @@
+package com.ome.model;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded free-list of reusable objects.
+ *
+ * Objects are acquired on the matching thread and may be released from
+ * another one (e.g. the EventBus dispatcher once it has delivered an
+ * event), so acquire/release are synchronized. The free-list is a plain
+ * array — neither operation allocates. When the pool is full, released
+ * objects are simply dropped for the GC.
+ *
+ * One pool per engine shard keeps the lock uncontended in practice.
+ */
+public final class ObjectPool<T> {
+
+    private final Supplier<T> factory;
+    private final Object[]    free;
+    private       int         available;
+    private       long        created;
+    private       long        reused;
+    private       long        discarded;
+
+    public ObjectPool(int capacity, Supplier<T> factory) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Pool capacity must be positive. Got: " + capacity);
+        this.factory = factory;
+        this.free    = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized T acquire() {
+        if (available == 0) {
+            created++;
+            return factory.get();
+        }
+        reused++;
+        T object = (T) free[--available];
+        free[available] = null;
+        return object;
+    }
+
+    public synchronized void release(T object) {
+        if (available < free.length) free[available++] = object;
+        else                         discarded++;
+    }
+
+    public synchronized int  getAvailable() { return available; }
+    public synchronized long getCreated()   { return created; }
+    public synchronized long getReused()    { return reused; }
+    public synchronized long getDiscarded() { return discarded; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ObjectPool[available=%d | created=%d | reused=%d | discarded=%d]",
+                available, created, reused, discarded);
+    }
+}
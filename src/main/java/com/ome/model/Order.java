@@ -1,5 +1,6 @@
 package com.ome.model;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -9,43 +10,150 @@ import java.util.concurrent.atomic.AtomicLong;
  *  - orderId is a monotonically increasing long for fast comparison & logging
  *  - timestamp is nanosecond-precision for correct time-priority within a price level
  *  - filledQuantity tracked separately so we always know original intent
- *  - price is double; in production you'd use a fixed-point long (e.g. price * 10000)
- *    to avoid floating-point rounding — noted for interviewer awareness
+ *  - price is held as fixed-point long ticks (see TickSize); the double
+ *    constructor argument and getPrice() exist only at the API edge
+ *  - owner tags the participant/session that sent the order (null if
+ *    untagged), so a book can find and mass-cancel everything it owns
+ *  - STOP / STOP_LIMIT orders also carry a stop price (ticks) at which the
+ *    book releases them into matching; it is 0 for every other type
+ *  - expiresAt (epoch millis) makes an order good-till-date; 0 means good
+ *    till cancelled. MatchingEngine expires resting GTD orders
+ *  - orders may be pooled (see pooled()); a pooled order is reset in place
+ *    and reference-counted so it only returns to its pool once the book and
+ *    every queued event have let go of it
  */
-public class Order {
+public class Order implements Recyclable {
 
     private static final AtomicLong ID_GENERATOR = new AtomicLong(1);
 
-    private final long        orderId;
-    private final String      symbol;
-    private final Side        side;
-    private final OrderType   type;
-    private final double      price;            // limit price (0 for MARKET)
-    private final int         originalQuantity;
-    private       int         remainingQuantity;
-    private       int         filledQuantity;
-    private       OrderStatus status;
-    private final long        timestamp;        // nanoseconds — for time priority
+    private static final AtomicIntegerFieldUpdater<Order> REF_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Order.class, "refCount");
+
+    // Identity and terms — fixed for one lifecycle, rewritten by reset()
+    private long        orderId;
+    private String      symbol;
+    private Side        side;
+    private OrderType   type;
+    private long        priceTicks;       // limit price in ticks (0 for MARKET)
+    private long        stopPriceTicks;   // trigger price in ticks (0 unless STOP / STOP_LIMIT)
+    private TickSize    tickSize;
+    private int         originalQuantity;
+    private int         remainingQuantity;
+    private int         filledQuantity;
+    private OrderStatus status;
+    private long        timestamp;        // nanoseconds — for time priority
+    private String      owner;            // participant / session id; null if untagged
+    private long        expiresAt;        // GTD / GTT expiry, epoch millis; 0 = good till cancelled
+
+    // Pool bookkeeping (pool is null for ordinary orders)
+    private ObjectPool<Order> pool;
+    private volatile int      refCount;
 
     public Order(String symbol, Side side, OrderType type, double price, int quantity) {
-        validateOrder(symbol, side, type, price, quantity);
+        this(symbol, side, type, price, quantity, null);
+    }
+
+    public Order(String symbol, Side side, OrderType type, double price, int quantity, String owner) {
+        reset(ID_GENERATOR.getAndIncrement(), symbol, side, type, price, 0.0, quantity, owner);
+    }
+
+    /**
+     * Stop order constructor. For STOP the limit price is ignored (pass 0);
+     * for STOP_LIMIT it is the limit the order trades at once triggered.
+     */
+    public Order(String symbol, Side side, OrderType type, double price, double stopPrice,
+                 int quantity, String owner) {
+        reset(ID_GENERATOR.getAndIncrement(), symbol, side, type, price, stopPrice, quantity, owner);
+    }
+
+    private Order() {
+        // blank instance for the pool; reset() fills it in
+    }
+
+    // ── Pooling ───────────────────────────────────────────────────────────────
+
+    public static ObjectPool<Order> newPool(int capacity) {
+        return new ObjectPool<>(capacity, Order::new);
+    }
+
+    /**
+     * Take an order from the pool and initialise it. The caller receives one
+     * reference, which MatchingEngine.submit takes over.
+     */
+    public static Order pooled(ObjectPool<Order> pool, String symbol, Side side,
+                               OrderType type, double price, int quantity) {
+        return pooled(pool, symbol, side, type, price, quantity, null);
+    }
+
+    public static Order pooled(ObjectPool<Order> pool, String symbol, Side side,
+                               OrderType type, double price, int quantity, String owner) {
+        return pooled(pool, symbol, side, type, price, 0.0, quantity, owner);
+    }
+
+    public static Order pooled(ObjectPool<Order> pool, String symbol, Side side, OrderType type,
+                               double price, double stopPrice, int quantity, String owner) {
+        return pooled(pool, ID_GENERATOR.getAndIncrement(), symbol, side, type, price, stopPrice, quantity, owner);
+    }
 
-        this.orderId           = ID_GENERATOR.getAndIncrement();
+    /**
+     * Pooled order with an id assigned upstream — by the OrderSequencer, so
+     * the producer knows the id before the engine creates the order. The
+     * caller keeps such ids unique within the engine.
+     */
+    public static Order pooled(ObjectPool<Order> pool, long orderId, String symbol, Side side, OrderType type,
+                               double price, double stopPrice, int quantity, String owner) {
+        if (orderId <= 0)
+            throw new IllegalArgumentException("Order id must be positive. Got: " + orderId);
+        Order order = pool.acquire();
+        order.reset(orderId, symbol, side, type, price, stopPrice, quantity, owner);
+        order.pool = pool;
+        return order;
+    }
+
+    /**
+     * Reinitialise this instance as a brand-new order under the given id.
+     */
+    private void reset(long orderId, String symbol, Side side, OrderType type, double price, double stopPrice,
+                       int quantity, String owner) {
+        validateOrder(symbol, side, type, price, stopPrice, quantity);
+
+        this.orderId           = orderId;
         this.symbol            = symbol.toUpperCase();
         this.side              = side;
         this.type              = type;
-        this.price             = price;
+        this.tickSize          = TickSize.forSymbol(this.symbol);
+        this.priceTicks        = tickSize.toTicks(price);
+        this.stopPriceTicks    = tickSize.toTicks(stopPrice);
         this.originalQuantity  = quantity;
         this.remainingQuantity = quantity;
         this.filledQuantity    = 0;
         this.status            = OrderStatus.NEW;
         this.timestamp         = System.nanoTime();
+        this.owner             = owner;
+        this.expiresAt         = 0L;
+        this.refCount          = 1;
+    }
+
+    @Override
+    public void retain() {
+        if (pool != null) REF_COUNT.incrementAndGet(this);
+    }
+
+    @Override
+    public void release() {
+        if (pool == null) return;
+        int remaining = REF_COUNT.decrementAndGet(this);
+        if (remaining == 0) pool.release(this);
+        else if (remaining < 0)
+            throw new IllegalStateException("Order#" + orderId + " released more times than retained.");
     }
 
+    public boolean isPooled() { return pool != null; }
+
     // ── Validation ────────────────────────────────────────────────────────────
 
     private static void validateOrder(String symbol, Side side, OrderType type,
-                                       double price, int quantity) {
+                                       double price, double stopPrice, int quantity) {
         if (symbol == null || symbol.isBlank())
             throw new IllegalArgumentException("Symbol cannot be blank.");
         if (side == null)
@@ -60,6 +168,12 @@ public class Order {
             throw new IllegalArgumentException("IOC order must have a positive price. Got: " + price);
         if (type == OrderType.FOC && price <= 0)
             throw new IllegalArgumentException("FOC order must have a positive price. Got: " + price);
+        if (type == OrderType.STOP_LIMIT && price <= 0)
+            throw new IllegalArgumentException("STOP_LIMIT order must have a positive price. Got: " + price);
+        if (type.isStop() && stopPrice <= 0)
+            throw new IllegalArgumentException(type + " order must have a positive stop price. Got: " + stopPrice);
+        if (!type.isStop() && stopPrice != 0)
+            throw new IllegalArgumentException("Only stop orders take a stop price. Got: " + stopPrice);
     }
 
     // ── State Mutations (package-private: only engine should mutate) ──────────
@@ -84,6 +198,29 @@ public class Order {
         this.status = OrderStatus.CANCELLED;
     }
 
+    /**
+     * Replace the limit price and open quantity of a resting order. Filled
+     * quantity is kept, so original quantity becomes filled + remaining.
+     */
+    public void amend(long newPriceTicks, int newRemaining) {
+        if (newRemaining <= 0)
+            throw new IllegalArgumentException("Amended quantity must be positive. Got: " + newRemaining);
+        this.priceTicks        = newPriceTicks;
+        this.remainingQuantity = newRemaining;
+        this.originalQuantity  = filledQuantity + newRemaining;
+    }
+
+    /**
+     * Make this order good-till-date: whatever rests of it is cancelled at
+     * expiresAtMillis. Set before submitting. Returns this for chaining.
+     */
+    public Order goodTill(long expiresAtMillis) {
+        if (expiresAtMillis <= 0)
+            throw new IllegalArgumentException("Expiry must be a positive epoch millis. Got: " + expiresAtMillis);
+        this.expiresAt = expiresAtMillis;
+        return this;
+    }
+
     public void markOpen() {
         this.status = OrderStatus.OPEN;
     }
@@ -91,15 +228,21 @@ public class Order {
     // ── Getters ───────────────────────────────────────────────────────────────
 
     public long        getOrderId()            { return orderId; }
+    public String      getOwner()              { return owner; }
     public String      getSymbol()             { return symbol; }
     public Side        getSide()               { return side; }
     public OrderType   getType()               { return type; }
-    public double      getPrice()              { return price; }
+    public double      getPrice()              { return tickSize.toPrice(priceTicks); }
+    public long        getPriceTicks()         { return priceTicks; }
+    public long        getStopPriceTicks()     { return stopPriceTicks; }
+    public double      getStopPrice()          { return tickSize.toPrice(stopPriceTicks); }
+    public TickSize    getTickSize()           { return tickSize; }
     public int         getOriginalQuantity()   { return originalQuantity; }
     public int         getRemainingQuantity()  { return remainingQuantity; }
     public int         getFilledQuantity()     { return filledQuantity; }
     public OrderStatus getStatus()             { return status; }
     public long        getTimestamp()          { return timestamp; }
+    public long        getExpiresAt()          { return expiresAt; }
 
     public boolean isFilled()    { return status == OrderStatus.FILLED; }
     public boolean isCancelled() { return status == OrderStatus.CANCELLED; }
@@ -114,7 +257,12 @@ public class Order {
         return String.format(
             "Order#%04d [%s | %s | %s | Price: %s | Qty: %d/%d | Status: %s]",
             orderId, symbol, side, type,
-            type == OrderType.MARKET ? "MARKET" : String.format("%.2f", price),
+            switch (type) {
+                case MARKET     -> "MARKET";
+                case STOP       -> String.format("STOP %.2f", getStopPrice());
+                case STOP_LIMIT -> String.format("%.2f STOP %.2f", getPrice(), getStopPrice());
+                default         -> String.format("%.2f", getPrice());
+            },
             remainingQuantity, originalQuantity, status
         );
     }
@@ -7,10 +7,20 @@ package com.ome.model;
  * MARKET — Execute immediately at the best available price; never rests on book.
  * IOC    — Immediate-Or-Cancel: fill as much as possible, cancel the remainder.
  * FOC    — Fill-Or-Cancel: fill the entire quantity or cancel the whole order.
+ * STOP       — Held off the book until the last trade reaches the stop price,
+ *              then executed as a MARKET order.
+ * STOP_LIMIT — As STOP, but executed as a LIMIT order at its limit price.
  */
 public enum OrderType {
     LIMIT,
     MARKET,
     IOC,
-    FOC
+    FOC,
+    STOP,
+    STOP_LIMIT;
+
+    /** Held in the book's trigger index until its stop price trades? */
+    public boolean isStop() {
+        return this == STOP || this == STOP_LIMIT;
+    }
 }
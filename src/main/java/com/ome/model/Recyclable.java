@@ -0,0 +1,22 @@
+package com.ome.model;
+
+/**
+ * Reference-counted object that returns to an ObjectPool when the last
+ * holder lets go.
+ *
+ * Ownership rules for pooled orders and trades:
+ *  - acquiring from a pool hands the caller one reference
+ *  - anything that keeps the object beyond the current call (a resting
+ *    book entry, a queued event) must retain() it and release() when done
+ *  - the final release() resets nothing by itself; the object is simply
+ *    back in the pool and must not be touched again
+ *
+ * Objects that were not taken from a pool ignore retain/release entirely,
+ * so unpooled code paths behave exactly as before.
+ */
+public interface Recyclable {
+
+    void retain();
+
+    void release();
+}
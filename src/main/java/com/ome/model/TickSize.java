@@ -0,0 +1,88 @@
+package com.ome.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimum price increment for a symbol, and the conversion between
+ * API-edge double prices and the fixed-point long ticks used internally.
+ *
+ * Everything from Order through OrderBook to Trade works in ticks:
+ *   price 150.25 with tick 0.01 → 15025 ticks
+ *
+ * Keeping prices as longs means exact comparisons and exact map lookups,
+ * and no boxed Double on the matching path. Doubles only appear where a
+ * human or an external API needs them.
+ *
+ * Tick sizes are registered per symbol; unregistered symbols use one cent.
+ */
+public final class TickSize {
+
+    public static final TickSize DEFAULT = of(0.01);
+
+    private static final Map<String, TickSize> REGISTRY = new ConcurrentHashMap<>();
+
+    // Tolerance when deciding whether a double lies on the tick grid
+    private static final double GRID_EPSILON = 1e-6;
+
+    private final double  tick;
+    private final double  ticksPerUnit;   // 1 / tick, e.g. 100 for cents
+    private final boolean integralScale;  // ticksPerUnit is a whole number
+
+    private TickSize(double tick) {
+        double inverse     = 1.0 / tick;
+        this.tick          = tick;
+        this.integralScale = Math.abs(inverse - Math.rint(inverse)) < GRID_EPSILON;
+        this.ticksPerUnit  = integralScale ? Math.rint(inverse) : inverse;
+    }
+
+    public static TickSize of(double tick) {
+        if (!(tick > 0) || Double.isInfinite(tick))
+            throw new IllegalArgumentException("Tick size must be positive. Got: " + tick);
+        return new TickSize(tick);
+    }
+
+    // ── Registry ──────────────────────────────────────────────────────────────
+
+    /**
+     * Set the tick size for a symbol. Must be done before orders for that
+     * symbol are created — existing orders keep the ticks they were built with.
+     */
+    public static void register(String symbol, double tick) {
+        REGISTRY.put(symbol.toUpperCase(), of(tick));
+    }
+
+    public static TickSize forSymbol(String symbol) {
+        return REGISTRY.getOrDefault(symbol.toUpperCase(), DEFAULT);
+    }
+
+    // ── Conversion ────────────────────────────────────────────────────────────
+
+    /**
+     * Convert a double price to ticks. Rejects prices that are off the grid.
+     */
+    public long toTicks(double price) {
+        double scaled = price * ticksPerUnit;
+        long   ticks  = Math.round(scaled);
+        if (Math.abs(scaled - ticks) > GRID_EPSILON)
+            throw new IllegalArgumentException(
+                "Price " + price + " is not a multiple of tick size " + tick);
+        return ticks;
+    }
+
+    /**
+     * Convert ticks back to a double price for display and the public API.
+     * Dividing by an integral scale gives the nearest double to the decimal
+     * price (e.g. 10000 / 100.0 == 100.0 exactly).
+     */
+    public double toPrice(long ticks) {
+        return integralScale ? ticks / ticksPerUnit : ticks * tick;
+    }
+
+    public double getTick() { return tick; }
+
+    @Override
+    public String toString() {
+        return "TickSize[" + tick + "]";
+    }
+}
@@ -1,60 +1,121 @@
 package com.ome.model;
 
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Immutable record of a matched trade between a buy and sell order.
+ * Record of a matched trade between a buy and sell order.
  *
  * Each trade records:
  *  - which buy/sell orders were matched
- *  - the execution price (maker's limit price — standard exchange convention)
+ *  - the execution price in ticks (maker's limit price — standard exchange convention)
  *  - the quantity matched
- *  - nanosecond timestamp for latency analysis
+ *  - nanosecond timestamp for latency analysis, plus wall-clock millis
+ *
+ * Immutable once handed out. Pooled trades (see pooled()) are reset in place
+ * for their next use only after the last holder has released them.
  */
-public final class Trade {
+public final class Trade implements Recyclable {
 
     private static final AtomicLong ID_GENERATOR = new AtomicLong(1);
 
-    private final long    tradeId;
-    private final String  symbol;
-    private final long    buyOrderId;
-    private final long    sellOrderId;
-    private final double  executionPrice;  // always the resting (maker) order's price
-    private final int     quantity;
-    private final long    timestampNanos;
-    private final Instant instant;
-
-    public Trade(String symbol, long buyOrderId, long sellOrderId,
-                 double executionPrice, int quantity) {
-        this.tradeId        = ID_GENERATOR.getAndIncrement();
-        this.symbol         = symbol;
-        this.buyOrderId     = buyOrderId;
-        this.sellOrderId    = sellOrderId;
-        this.executionPrice = executionPrice;
-        this.quantity       = quantity;
-        this.timestampNanos = System.nanoTime();
-        this.instant        = Instant.now();
+    private static final AtomicIntegerFieldUpdater<Trade> REF_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Trade.class, "refCount");
+
+    private long     tradeId;
+    private String   symbol;
+    private TickSize tickSize;
+    private long     buyOrderId;
+    private long     sellOrderId;
+    private long     executionPriceTicks;  // always the resting (maker) order's price
+    private int      quantity;
+    private long     timestampNanos;
+    private long     epochMillis;          // wall clock; Instant built on demand
+
+    // Pool bookkeeping (pool is null for ordinary trades)
+    private ObjectPool<Trade> pool;
+    private volatile int      refCount;
+
+    public Trade(String symbol, TickSize tickSize, long buyOrderId, long sellOrderId,
+                 long executionPriceTicks, int quantity) {
+        reset(symbol, tickSize, buyOrderId, sellOrderId, executionPriceTicks, quantity);
+    }
+
+    private Trade() {
+        // blank instance for the pool; reset() fills it in
+    }
+
+    // ── Pooling ───────────────────────────────────────────────────────────────
+
+    public static ObjectPool<Trade> newPool(int capacity) {
+        return new ObjectPool<>(capacity, Trade::new);
+    }
+
+    /**
+     * Take a trade from the pool and initialise it. The caller receives one
+     * reference and must release it (or hand it to something that will).
+     */
+    public static Trade pooled(ObjectPool<Trade> pool, String symbol, TickSize tickSize,
+                               long buyOrderId, long sellOrderId,
+                               long executionPriceTicks, int quantity) {
+        Trade trade = pool.acquire();
+        trade.reset(symbol, tickSize, buyOrderId, sellOrderId, executionPriceTicks, quantity);
+        trade.pool = pool;
+        return trade;
+    }
+
+    private void reset(String symbol, TickSize tickSize, long buyOrderId, long sellOrderId,
+                       long executionPriceTicks, int quantity) {
+        this.tradeId             = ID_GENERATOR.getAndIncrement();
+        this.symbol              = symbol;
+        this.tickSize            = tickSize;
+        this.buyOrderId          = buyOrderId;
+        this.sellOrderId         = sellOrderId;
+        this.executionPriceTicks = executionPriceTicks;
+        this.quantity            = quantity;
+        this.timestampNanos      = System.nanoTime();
+        this.epochMillis         = System.currentTimeMillis();
+        this.refCount            = 1;
+    }
+
+    @Override
+    public void retain() {
+        if (pool != null) REF_COUNT.incrementAndGet(this);
     }
 
+    @Override
+    public void release() {
+        if (pool == null) return;
+        int remaining = REF_COUNT.decrementAndGet(this);
+        if (remaining == 0) pool.release(this);
+        else if (remaining < 0)
+            throw new IllegalStateException("Trade#" + tradeId + " released more times than retained.");
+    }
+
+    public boolean isPooled() { return pool != null; }
+
     // ── Getters ───────────────────────────────────────────────────────────────
 
-    public long    getTradeId()        { return tradeId; }
-    public String  getSymbol()         { return symbol; }
-    public long    getBuyOrderId()     { return buyOrderId; }
-    public long    getSellOrderId()    { return sellOrderId; }
-    public double  getExecutionPrice() { return executionPrice; }
-    public int     getQuantity()       { return quantity; }
-    public long    getTimestampNanos() { return timestampNanos; }
-    public Instant getInstant()        { return instant; }
+    public long     getTradeId()             { return tradeId; }
+    public String   getSymbol()              { return symbol; }
+    public TickSize getTickSize()            { return tickSize; }
+    public long     getBuyOrderId()          { return buyOrderId; }
+    public long     getSellOrderId()         { return sellOrderId; }
+    public long     getExecutionPriceTicks() { return executionPriceTicks; }
+    public double   getExecutionPrice()      { return tickSize.toPrice(executionPriceTicks); }
+    public int      getQuantity()            { return quantity; }
+    public long     getTimestampNanos()      { return timestampNanos; }
+    public long     getEpochMillis()         { return epochMillis; }
+    public Instant  getInstant()             { return Instant.ofEpochMilli(epochMillis); }
 
-    public double  getNotionalValue()  { return executionPrice * quantity; }
+    public double   getNotionalValue()       { return tickSize.toPrice(executionPriceTicks * quantity); }
 
     @Override
     public String toString() {
         return String.format(
             "  ✅ TRADE #%04d | %-5s | Price: %8.2f | Qty: %6d | Notional: %10.2f | Buy#%04d vs Sell#%04d",
-            tradeId, symbol, executionPrice, quantity,
+            tradeId, symbol, getExecutionPrice(), quantity,
             getNotionalValue(), buyOrderId, sellOrderId
         );
     }
@@ -0,0 +1,134 @@
+package com.ome;
+
+import com.ome.book.BookSide;
+import com.ome.book.ExecutionListener;
+import com.ome.book.OrderBook;
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Verifies that the listener-based matching path allocates nothing per
+ * order once the book is warm — in the book, and through the engine's
+ * submit(order, listener) wrapper around it.
+ */
+@DisplayName("Allocation-Free Matching Tests")
+class AllocationFreeMatchingTest {
+
+    private static final int  WARMUP     = 50_000;
+    private static final int  MEASURED   = 20_000;
+    private static final long T0         = 1_700_000_000_000L;
+    private static final long GTD_MILLIS = 100;
+
+    private long fills;
+    private long filledQty;
+
+    private final ExecutionListener sink = (makerId, takerId, takerSide, priceTicks, qty) -> {
+        fills++;
+        filledQty += qty;
+    };
+
+    @Test
+    @DisplayName("Sink path: zero bytes allocated per order in steady state")
+    void steadyStateAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocations");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        OrderBook book = new OrderBook("TEST", BookSide.ladder(64));
+
+        // Orders are created by the gateway, not the matcher — build them up front
+        Order[] warmup   = orders(WARMUP);
+        Order[] measured = orders(MEASURED);
+
+        run(book, warmup);
+
+        long threadId = Thread.currentThread().getId();
+        long before   = threads.getThreadAllocatedBytes(threadId);
+        run(book, measured);
+        long after    = threads.getThreadAllocatedBytes(threadId);
+
+        long perOrder = (after - before) / measured.length;
+        assertEquals(0, perOrder, "bytes allocated per order: " + (after - before) + " total");
+        assertEquals((WARMUP + MEASURED) / 2, fills);
+        assertEquals(0, book.getBidDepth() + book.getAskDepth(), "every pair should fully cross");
+    }
+
+    @Test
+    @DisplayName("Engine sink path: submit(order, listener) allocates nothing per order in steady state")
+    void engineSteadyStateAllocatesNothing() throws InterruptedException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocations");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        EventBus       bus    = new EventBus();
+        MatchingEngine engine = new MatchingEngine(bus, 16);
+        engine.setBookLayout("TEST", BookSide.ladder(64));
+        long[] now = { T0 };
+        engine.setClock(() -> now[0]);
+
+        Order[] warmup   = goodTill(orders(WARMUP), 0);
+        Order[] measured = goodTill(orders(MEASURED), WARMUP);
+
+        for (Order order : warmup) {
+            now[0]++;
+            engine.submit(order, sink);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before   = threads.getThreadAllocatedBytes(threadId);
+        for (Order order : measured) {
+            now[0]++;
+            engine.submit(order, sink);
+        }
+        long after    = threads.getThreadAllocatedBytes(threadId);
+
+        long perOrder = (after - before) / measured.length;
+        assertEquals(0, perOrder, "bytes allocated per order: " + (after - before) + " total");
+        assertEquals((WARMUP + MEASURED) / 2, fills);
+        assertEquals(WARMUP + MEASURED, engine.getTotalOrders());
+        OrderBook book = engine.getBook("TEST");
+        assertEquals(0, book.getBidDepth() + book.getAskDepth(), "every pair should fully cross");
+        bus.shutdown();
+    }
+
+    /**
+     * Make every resting sell good-till-date, GTD_MILLIS after it arrives
+     * on a clock that ticks once per order, so the engine path schedules
+     * expiries and the wheel recycles the entries of orders long filled.
+     */
+    private static Order[] goodTill(Order[] orders, int firstIndex) {
+        for (int i = 0; i < orders.length; i += 2) orders[i].goodTill(T0 + firstIndex + i + 1 + GTD_MILLIS);
+        return orders;
+    }
+
+    /**
+     * Pairs of resting sells and crossing buys over a handful of price
+     * levels, plus an IOC and a MARKET every few pairs.
+     */
+    private static Order[] orders(int count) {
+        Order[] orders = new Order[count];
+        for (int i = 0; i < count; i += 2) {
+            double price = 100.00 + (i % 10) * 0.01;
+            OrderType taker = (i % 6 == 0) ? OrderType.IOC
+                            : (i % 6 == 2) ? OrderType.MARKET
+                            : OrderType.LIMIT;
+            orders[i]     = new Order("TEST", Side.SELL, OrderType.LIMIT, price, 100);
+            orders[i + 1] = new Order("TEST", Side.BUY, taker,
+                                      taker == OrderType.MARKET ? 0 : price, 100);
+        }
+        return orders;
+    }
+
+    private void run(OrderBook book, Order[] orders) {
+        for (Order order : orders) book.addOrder(order, sink);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ome;
+
+import com.ome.audit.AsyncAuditLog;
+import com.ome.audit.AuditLog;
+import com.ome.engine.MatchingEngine;
+import com.ome.engine.OrderSequencer;
+import com.ome.engine.WaitStrategy;
+import com.ome.feed.EventBus;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the audit channel: a silent engine by default, records
+ * delivered off-thread in order, and dropping instead of blocking.
+ */
+@DisplayName("Audit Log Tests")
+class AuditLogTest {
+
+    private EventBus       bus;
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus();
+        engine = new MatchingEngine(bus, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Audit: with the default log the engine writes nothing to System.out")
+    void defaultLog_engineIsSilent() {
+        PrintStream            original = System.out;
+        ByteArrayOutputStream  captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            Order resting = new Order("AUD", Side.BUY, OrderType.LIMIT, 10.0, 100);
+            engine.submit(resting);
+            engine.amend("AUD", resting.getOrderId(), 10.0, 50);
+            engine.cancel("AUD", resting.getOrderId());
+            engine.cancel("AUD", resting.getOrderId());
+            engine.cancel("NOPE", 1);
+        } finally {
+            System.setOut(original);
+        }
+        assertEquals("", captured.toString());
+    }
+
+    @Test
+    @DisplayName("Audit: engine records reach sinks in order with their primitive fields")
+    void asyncLog_deliversRecordsInOrder() throws InterruptedException {
+        AsyncAuditLog      log  = new AsyncAuditLog(64);
+        List<AuditLog.Type> seen = new CopyOnWriteArrayList<>();
+        List<Long>          ids  = new CopyOnWriteArrayList<>();
+        log.addSink((type, time, symbol, owner, a, b, c, d) -> {
+            seen.add(type);
+            if (type != AuditLog.Type.ORDER_LATENCY) ids.add(a);
+        });
+        engine.setAuditLog(log);
+
+        Order resting = new Order("AUD", Side.SELL, OrderType.LIMIT, 10.0, 100, "bob");
+        engine.submit(resting);
+        engine.amend("AUD", resting.getOrderId(), 10.5, 80);
+        engine.massCancel("bob", "AUD", null);
+        engine.cancel("AUD", resting.getOrderId());
+        log.flush();
+        log.shutdown();
+
+        assertEquals(List.of(AuditLog.Type.ORDER_LATENCY, AuditLog.Type.AMENDED,
+                             AuditLog.Type.MASS_CANCEL, AuditLog.Type.CANCEL_NOT_FOUND), seen);
+        assertEquals(List.of(resting.getOrderId(), 1L, resting.getOrderId()), ids);
+    }
+
+    @Test
+    @DisplayName("Audit: a command the sequencer rejects is logged as REJECTED, not printed to System.err")
+    void sequencerReject_isAuditRecord() throws InterruptedException {
+        AsyncAuditLog log      = new AsyncAuditLog(64);
+        List<String>  rejected = new CopyOnWriteArrayList<>();
+        log.addSink((type, time, symbol, owner, a, b, c, d) -> {
+            if (type == AuditLog.Type.REJECTED) rejected.add(symbol + " #" + a + ": " + owner);
+        });
+        engine.setAuditLog(log);
+        Order resting = new Order("AUD", Side.BUY, OrderType.LIMIT, 10.0, 100);
+        engine.submit(resting);
+
+        PrintStream           original = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured));
+        try {
+            OrderSequencer sequencer = new OrderSequencer(engine, 4, WaitStrategy.PARK);
+            sequencer.submit(c -> c.amend("AUD", resting.getOrderId(), 10.0, 0));    // zero quantity: rejected
+            sequencer.shutdown();
+        } finally {
+            System.setErr(original);
+        }
+        log.flush();
+        log.shutdown();
+
+        assertEquals("", captured.toString());
+        assertEquals(1, rejected.size());
+        assertTrue(rejected.get(0).startsWith("AUD #" + resting.getOrderId() + ": "), rejected.get(0));
+        assertEquals(1, engine.getMetrics().get(MatchingEngine.METRIC_REJECTS));
+    }
+
+    @Test
+    @DisplayName("Audit: a stalled sink makes the log drop records rather than block the caller")
+    void fullRing_dropsInsteadOfBlocking() throws InterruptedException {
+        AsyncAuditLog  log     = new AsyncAuditLog(8);
+        CountDownLatch release = new CountDownLatch(1);
+        log.addSink((type, time, symbol, owner, a, b, c, d) -> {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        });
+
+        for (int i = 0; i < 100; i++) log.record(AuditLog.Type.CANCELLED, "AUD", i);
+        assertTrue(log.getDropped() >= 100 - 8 - 1, "at most one ring plus the record in the sink got through");
+
+        release.countDown();
+        log.flush();
+        log.shutdown();
+    }
+}
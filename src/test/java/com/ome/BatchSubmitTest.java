@@ -0,0 +1,116 @@
+package com.ome;
+
+import com.ome.engine.LatencyHistogram;
+import com.ome.engine.LatencyRecorder;
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.feed.MarketEvent;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batch order entry through the engine and for the latency
+ * histogram it records into.
+ */
+@DisplayName("Batch Submit Tests")
+class BatchSubmitTest {
+
+    private EventBus       bus;
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus();
+        engine = new MatchingEngine(bus, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Batch: mixed-symbol burst matches per book, samples latency per order and publishes in order")
+    void submitBatch_mixedSymbols() throws InterruptedException {
+        List<MarketEvent.EventType> seen = new CopyOnWriteArrayList<>();
+        for (MarketEvent.EventType type : MarketEvent.EventType.values()) bus.subscribe(type, e -> seen.add(e.getType()));
+
+        List<Trade> trades = engine.submitBatch(List.of(
+                engine.newOrder("AAA", Side.SELL, OrderType.LIMIT, 10.00, 100),
+                engine.newOrder("AAA", Side.BUY,  OrderType.LIMIT, 10.00, 60),
+                engine.newOrder("BBB", Side.SELL, OrderType.LIMIT, 20.00, 10),
+                engine.newOrder("AAA", Side.BUY,  OrderType.MARKET, 0,    40)));
+
+        assertEquals(2, trades.size());
+        assertEquals("AAA", trades.get(0).getSymbol());
+        assertEquals(0, engine.getBook("AAA").getAskDepth());
+        assertEquals(1, engine.getBook("BBB").getAskDepth());
+        assertEquals(4, engine.getLatency().getCount());
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (seen.size() < 10 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(List.of(
+                MarketEvent.EventType.ORDER_RECEIVED, MarketEvent.EventType.ORDER_OPEN,
+                MarketEvent.EventType.ORDER_RECEIVED, MarketEvent.EventType.TRADE, MarketEvent.EventType.ORDER_FILLED,
+                MarketEvent.EventType.ORDER_RECEIVED, MarketEvent.EventType.ORDER_OPEN,
+                MarketEvent.EventType.ORDER_RECEIVED, MarketEvent.EventType.TRADE, MarketEvent.EventType.ORDER_FILLED),
+                seen);
+    }
+
+    @Test
+    @DisplayName("Histogram: percentiles are exact below 128 ns and within 1/64 above")
+    void histogram_percentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) h.record(100);
+        h.record(10_000);
+
+        assertEquals(100, h.getCount());
+        assertEquals(100, h.getMin());
+        assertEquals(10_000, h.getMax());
+        assertEquals(100, h.getPercentile(0.50), "below 128 ns every nanosecond has its own bucket");
+        assertEquals(100, h.getPercentile(0.99));
+        assertEquals(10_000, h.getPercentile(1.0), "clamped to the largest sample");
+
+        LatencyHistogram wide = new LatencyHistogram();
+        for (long v = 1_000; v <= 1_000_000_000L; v *= 10) {
+            wide.reset();
+            wide.record(v);
+            wide.record(2 * v);                                   // max above v, so p50 shows v's bucket bound
+            long p50 = wide.getPercentile(0.50);
+            assertTrue(p50 >= v && p50 - v <= v / 64, v + " reported as " + p50);
+        }
+        assertEquals(199.0, h.getMean());
+        assertThrows(IllegalArgumentException.class, () -> h.getPercentile(1.5));
+
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getPercentile(0.99));
+    }
+
+    @Test
+    @DisplayName("Recorder: latency is kept per symbol and type, and an interval swap starts a fresh one")
+    void recorder_intervalsAndBreakdown() {
+        engine.submit(new Order("AAA", Side.BUY,  OrderType.LIMIT,  10.0, 5));
+        engine.submit(new Order("BBB", Side.SELL, OrderType.LIMIT,  20.0, 5));
+        engine.submit(new Order("AAA", Side.SELL, OrderType.MARKET, 0,    5));
+
+        LatencyRecorder          recorder = engine.getLatencyRecorder();
+        LatencyRecorder.Snapshot first    = recorder.getIntervalSnapshot();
+        assertEquals(3, first.getTotal().getCount());
+        assertEquals(2, first.getBySymbol("aaa").getCount());
+        assertEquals(1, first.getByType(OrderType.MARKET).getCount());
+        assertTrue(first.getEndMillis() >= first.getStartMillis());
+
+        engine.submit(new Order("BBB", Side.BUY, OrderType.IOC, 20.0, 1));
+        LatencyRecorder.Snapshot second = recorder.getIntervalSnapshot();
+        assertEquals(1, second.getTotal().getCount());
+        assertEquals(1, second.getBySymbol("BBB").getCount(), "only orders since the previous swap");
+        assertEquals(4, recorder.getCumulative().getTotal().getCount());
+        assertSame(engine.getLatency(), recorder.getCumulative().getTotal());
+    }
+}
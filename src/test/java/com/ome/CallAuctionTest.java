@@ -0,0 +1,119 @@
+package com.ome;
+
+import com.ome.book.BookSide;
+import com.ome.book.OrderBook;
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the call-auction phase: orders accumulate without matching and
+ * the uncross executes all crossing volume at a single equilibrium price.
+ */
+@DisplayName("Call Auction Tests")
+class CallAuctionTest {
+
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("TEST");
+        book.beginAuction();
+    }
+
+    @Test
+    @DisplayName("Auction: crossing orders queue without trading; non-LIMIT orders are cancelled")
+    void auction_collectsWithoutMatching() {
+        book.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 101.0, 100));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT,  99.0, 100));
+        Order market = new Order("TEST", Side.BUY, OrderType.MARKET, 0, 10);
+
+        assertTrue(book.addOrder(market).isEmpty());
+        assertEquals(OrderStatus.CANCELLED, market.getStatus());
+        assertEquals(0, book.getTradeCount());
+        assertEquals(101.0, book.getBestBid());
+        assertEquals(99.0, book.getBestAsk());
+        assertThrows(IllegalStateException.class, book::beginAuction);
+    }
+
+    @Test
+    @DisplayName("Auction: uncross maximises volume and trades it all at one price")
+    void auction_uncrossAtEquilibrium() {
+        // Bids: 30 @ 102, 40 @ 101, 50 @ 100     Asks: 20 @ 99, 40 @ 100, 60 @ 101
+        // Volume at 100: bids 120 / asks 60 → 60;  at 101: bids 70 / asks 120 → 70  ← max
+        Order bid102 = new Order("TEST", Side.BUY,  OrderType.LIMIT, 102.0, 30);
+        Order bid101 = new Order("TEST", Side.BUY,  OrderType.LIMIT, 101.0, 40);
+        Order bid100 = new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 50);
+        Order ask99  = new Order("TEST", Side.SELL, OrderType.LIMIT,  99.0, 20);
+        Order ask100 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 40);
+        Order ask101 = new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 60);
+        for (Order o : List.of(bid102, bid101, bid100, ask99, ask100, ask101)) book.addOrder(o);
+
+        assertEquals(10_100, book.getIndicativePriceTicks());
+        assertEquals(70, book.getIndicativeVolume());
+
+        List<Trade> trades = book.uncross();
+
+        assertFalse(book.isInAuction());
+        assertEquals(70, trades.stream().mapToInt(Trade::getQuantity).sum());
+        assertTrue(trades.stream().allMatch(t -> t.getExecutionPriceTicks() == 10_100));
+        assertEquals(ask99.getOrderId(), trades.get(0).getSellOrderId(), "cheapest ask fills first");
+        assertEquals(bid102.getOrderId(), trades.get(0).getBuyOrderId(), "highest bid fills first");
+        assertTrue(bid101.isFilled());
+        assertEquals(50, bid100.getRemainingQuantity());
+        assertEquals(50, ask101.getRemainingQuantity());
+
+        // Book is no longer crossed and continuous matching resumes
+        assertEquals(100.0, book.getBestBid());
+        assertEquals(101.0, book.getBestAsk());
+        assertEquals(1, book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 101.0, 5)).size());
+    }
+
+    @Test
+    @DisplayName("Auction: volume ties break on imbalance, then on the last trade price")
+    void auction_tieBreaks() {
+        // 50 @ 100 bid vs 50 @ 98 ask: 50 executable at 98, 99 (no level) and 100; both
+        // candidate prices have zero imbalance, so the last trade price decides
+        OrderBook ladder = new OrderBook("TEST", BookSide.ladder(32));
+        ladder.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 1));
+        ladder.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 1));   // last trade 100.00
+        ladder.beginAuction();
+        ladder.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 50));
+        ladder.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT,  98.0, 50));
+
+        assertEquals(10_000, ladder.getIndicativePriceTicks());
+        ladder.uncross();
+        assertEquals(100.0, ladder.getLastTradePrice());
+        assertEquals(0, ladder.getBidDepth());
+        assertEquals(0, ladder.getAskDepth());
+
+        // Nothing crossed: uncross is a no-op that just ends the auction
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 99.0, 10));
+        assertEquals(0, book.getIndicativeVolume());
+        assertTrue(book.uncross().isEmpty());
+        assertThrows(IllegalStateException.class, book::uncross);
+    }
+
+    @Test
+    @DisplayName("Auction: the engine's uncross records its fills in the book's trade history")
+    void auction_engineUncrossRecordsHistory() throws InterruptedException {
+        EventBus       bus    = new EventBus();
+        MatchingEngine engine = new MatchingEngine(bus, 16);
+        engine.beginAuction("AUC");
+        engine.process(engine.newOrder("AUC", Side.BUY,  OrderType.LIMIT, 101.0, 40));
+        engine.process(engine.newOrder("AUC", Side.SELL, OrderType.LIMIT,  99.0, 30));
+
+        assertEquals(30, engine.uncross("AUC"));
+
+        List<Trade> history = engine.getBook("AUC").getTradeHistory();
+        assertEquals(1, history.size());
+        assertEquals(30, history.get(0).getQuantity());
+        assertEquals(engine.getBook("AUC").getLastTradePriceTicks(), history.get(0).getExecutionPriceTicks());
+        bus.shutdown();
+    }
+}
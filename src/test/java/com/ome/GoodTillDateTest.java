@@ -0,0 +1,140 @@
+package com.ome;
+
+import com.ome.audit.AsyncAuditLog;
+import com.ome.audit.AuditLog;
+import com.ome.book.ExecutionListener;
+import com.ome.book.OrderBook;
+import com.ome.engine.MatchingEngine;
+import com.ome.engine.TimerWheel;
+import com.ome.feed.EventBus;
+import com.ome.feed.MarketEvent;
+import com.ome.feed.OrderEvent;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for good-till-date orders and the timer wheel that expires them.
+ */
+@DisplayName("Good-Till-Date Tests")
+class GoodTillDateTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private EventBus       bus;
+    private MatchingEngine engine;
+    private AtomicLong     now;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus();
+        engine = new MatchingEngine(bus, 16);
+        now    = new AtomicLong(T0);
+        engine.setClock(now::get);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("GTD: a resting order is cancelled once the clock passes its expiry")
+    void gtd_restingOrderExpires() {
+        Order gtd = new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 10).goodTill(T0 + 5_000);
+        engine.submit(gtd);
+        OrderBook book = engine.getBook("TEST");
+        assertEquals(1, book.getBidDepth());
+
+        now.set(T0 + 4_000);
+        assertEquals(0, engine.expireOrders(), "not due yet");
+        assertEquals(OrderStatus.OPEN, gtd.getStatus());
+
+        now.set(T0 + 5_000);
+        engine.submit(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 1));   // expiry runs on the way in
+        assertEquals(OrderStatus.CANCELLED, gtd.getStatus());
+        assertEquals(0, book.getBidDepth());
+    }
+
+    @Test
+    @DisplayName("GTD: an expiry is published as ORDER_CANCELLED and audited as EXPIRED")
+    void gtd_expiryIsPublishedAndAudited() throws InterruptedException {
+        List<Long>     cancelled = new CopyOnWriteArrayList<>();
+        List<Long>     expired   = new CopyOnWriteArrayList<>();
+        AsyncAuditLog  log       = new AsyncAuditLog(64);
+        bus.subscribe(MarketEvent.EventType.ORDER_CANCELLED, e -> cancelled.add(((OrderEvent) e).getOrder().getOrderId()));
+        log.addSink((type, time, symbol, owner, a, b, c, d) -> {
+            if (type == AuditLog.Type.EXPIRED) expired.add(a);
+        });
+        engine.setAuditLog(log);
+
+        Order gtd = new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 10).goodTill(T0 + 5_000);
+        engine.submit(gtd);
+        now.set(T0 + 5_000);
+        assertEquals(1, engine.expireOrders());
+
+        for (int i = 0; i < 2_000 && cancelled.isEmpty(); i++) Thread.sleep(1);
+        log.flush();
+        log.shutdown();
+        assertEquals(List.of(gtd.getOrderId()), cancelled);
+        assertEquals(List.of(gtd.getOrderId()), expired);
+    }
+
+    @Test
+    @DisplayName("GTD: the allocation-free listener submit also expires due orders on the way in")
+    void gtd_listenerSubmitExpires() {
+        List<Long> fills = new ArrayList<>();
+        ExecutionListener listener = (makerId, takerId, takerSide, priceTicks, quantity) -> fills.add(makerId);
+
+        Order gtd = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10).goodTill(T0 + 5_000);
+        engine.submit(gtd, listener);
+        assertEquals(1, engine.getBook("TEST").getAskDepth());
+
+        now.set(T0 + 5_000);
+        engine.submit(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 10), listener);
+
+        assertEquals(OrderStatus.CANCELLED, gtd.getStatus(), "expired before the buy could match it");
+        assertTrue(fills.isEmpty());
+        assertEquals(1, engine.getBook("TEST").getBidDepth());
+    }
+
+    @Test
+    @DisplayName("GTD: a filled order's wheel entry fires into nothing")
+    void gtd_filledBeforeExpiryIsHarmless() {
+        Order gtd = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10).goodTill(T0 + 1_000);
+        engine.submit(gtd);
+        engine.submit(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 10));
+        assertTrue(gtd.isFilled());
+
+        now.set(T0 + 60_000);
+        assertEquals(0, engine.expireOrders());
+        assertEquals(OrderStatus.FILLED, gtd.getStatus());
+    }
+
+    @Test
+    @DisplayName("TimerWheel: entries a rotation or more ahead wait for their own deadline")
+    void timerWheel_farDeadlines() {
+        TimerWheel wheel = new TimerWheel(8, 10);           // 80 ms per rotation
+        List<Long> fired = new ArrayList<>();
+        TimerWheel.Expiry record = (book, id) -> fired.add(id);
+
+        wheel.advance(0, record);
+        wheel.schedule(25,  null, 1);
+        wheel.schedule(105, null, 2);                      // same slot, next rotation
+        wheel.schedule(500, null, 3);
+
+        assertEquals(1, wheel.advance(30, record));
+        assertEquals(List.of(1L), fired);
+        assertEquals(0, wheel.advance(90, record));
+        assertEquals(1, wheel.advance(110, record));
+        assertEquals(1, wheel.advance(10_000, record), "a long gap still visits every slot once");
+        assertEquals(List.of(1L, 2L, 3L), fired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ome;
+
+import com.ome.book.HierarchicalBitmap;
+import org.junit.jupiter.api.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the price-slot bitmap: next / prev must agree with a plain
+ * BitSet at every depth and across word and summary boundaries.
+ */
+@DisplayName("HierarchicalBitmap Tests")
+class HierarchicalBitmapTest {
+
+    @Test
+    @DisplayName("Bitmap: depth grows by one level per factor of 64")
+    void depthBySize() {
+        assertEquals(1, new HierarchicalBitmap(64).depth());
+        assertEquals(2, new HierarchicalBitmap(65).depth());
+        assertEquals(2, new HierarchicalBitmap(4_096).depth());
+        assertEquals(3, new HierarchicalBitmap(4_097).depth());
+    }
+
+    @Test
+    @DisplayName("Bitmap: searches cross empty words and summary words")
+    void searchesAcrossGaps() {
+        HierarchicalBitmap bits = new HierarchicalBitmap(10_000);
+        bits.set(3);
+        bits.set(9_999);
+
+        assertEquals(9_999, bits.next(4));
+        assertEquals(3, bits.prev(9_998));
+        assertEquals(-1, bits.next(10_000));
+        assertEquals(-1, bits.prev(2));
+
+        bits.clear(9_999);
+        assertEquals(-1, bits.next(4));
+        assertFalse(bits.get(9_999));
+        bits.clearAll();
+        assertEquals(-1, bits.prev(9_999));
+    }
+
+    @Test
+    @DisplayName("Bitmap: randomised set / clear / next / prev agree with BitSet")
+    void randomisedAgainstBitSet() {
+        Random rnd = new Random(11);
+        for (int size : new int[] {1, 63, 64, 65, 700, 4_096, 5_000}) {
+            HierarchicalBitmap bits   = new HierarchicalBitmap(size);
+            BitSet             expect = new BitSet(size);
+
+            for (int step = 0; step < 5_000; step++) {
+                int i = rnd.nextInt(size);
+                if (rnd.nextInt(3) == 0) { bits.set(i);   expect.set(i);   }
+                else                     { bits.clear(i); expect.clear(i); }
+
+                int from = rnd.nextInt(size);
+                assertEquals(expect.nextSetBit(from), bits.next(from), "next " + from + " / " + size);
+                assertEquals(expect.previousSetBit(from), bits.prev(from), "prev " + from + " / " + size);
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.ome;
+
+import com.ome.book.BookSide;
+import com.ome.book.HeapOrderStore;
+import com.ome.book.LadderBookSide;
+import com.ome.book.OrderBook;
+import com.ome.book.OrderStore;
+import com.ome.book.PriceLevel;
+import com.ome.book.PriceLevelPool;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the array-ladder book layout, including prices that fall
+ * outside the dense band and the hybrid band that follows the touch.
+ */
+@DisplayName("Ladder Order Book Tests")
+class LadderBookTest {
+
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("TEST", BookSide.ladder(16));
+    }
+
+    @Test
+    @DisplayName("Ladder: price-time priority across levels matches the tree layout")
+    void ladder_sweepsInPriorityOrder() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.01, 50);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 50);
+        Order sell3 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 50);
+        book.addOrder(sell1);
+        book.addOrder(sell2);
+        book.addOrder(sell3);
+        assertEquals(100.00, book.getBestAsk());
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.01, 120));
+
+        assertEquals(3, trades.size());
+        assertEquals(sell2.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(sell3.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(sell1.getOrderId(), trades.get(2).getSellOrderId());
+        assertEquals(100.01, book.getBestAsk());
+        assertEquals(30, sell1.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Ladder: out-of-band prices overflow and still trade in priority order")
+    void ladder_overflowBeyondBand() {
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 10));  // centres the band
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 105.00, 10));  // far above
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT,  95.00, 10));  // far below — new best
+
+        assertEquals(95.00, book.getBestAsk());
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.MARKET, 0, 30));
+
+        assertEquals(3, trades.size());
+        assertEquals(95.00,  trades.get(0).getExecutionPrice());
+        assertEquals(100.00, trades.get(1).getExecutionPrice());
+        assertEquals(105.00, trades.get(2).getExecutionPrice());
+        assertEquals(0.0, book.getBestAsk());
+    }
+
+    @Test
+    @DisplayName("Ladder: band re-centres on far levels once it drains")
+    void ladder_recentresWhenBandEmpties() {
+        LadderBookSide bids  = new LadderBookSide(Side.BUY, 16);
+        OrderStore     store = new HeapOrderStore(16);
+        rest(store, bids.getOrCreate(10_000), new Order("TEST", Side.BUY, OrderType.LIMIT, 100.00, 10));
+        PriceLevel far = bids.getOrCreate(9_000);
+        rest(store, far, new Order("TEST", Side.BUY, OrderType.LIMIT, 90.00, 10));
+        assertEquals(1, bids.getOverflowLevels());
+
+        PriceLevel top = bids.best();
+        top.dequeue(store);
+        bids.remove(top);
+
+        assertSame(far, bids.best());
+        assertEquals(0, bids.getOverflowLevels(), "far level should be pulled into the band");
+        assertEquals(9_000 - 8, bids.getBase());
+    }
+
+    @Test
+    @DisplayName("Ladder: iteration merges band and overflow best-first")
+    void ladder_iterationOrder() {
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.00, 10));
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 120.00, 10));
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.02, 10));
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT,  80.00, 10));
+
+        LadderBookSide bids  = new LadderBookSide(Side.BUY, 16);
+        OrderStore     store = new HeapOrderStore(16);
+        for (long p : new long[] {10_000, 12_000, 10_002, 8_000}) {
+            rest(store, bids.getOrCreate(p), new Order("TEST", Side.BUY, OrderType.LIMIT, p / 100.0, 10));
+        }
+        List<Long> prices = new ArrayList<>();
+        for (PriceLevel level : bids) prices.add(level.getPriceTicks());
+
+        assertEquals(List.of(12_000L, 10_002L, 10_000L, 8_000L), prices);
+        assertEquals(120.00, book.getBestBid());
+        assertEquals(4, book.getBidDepth());
+    }
+
+    @Test
+    @DisplayName("Ladder: cancel empties the level and moves best to the next slot")
+    void ladder_cancelBest() {
+        Order top = new Order("TEST", Side.BUY, OrderType.LIMIT, 100.05, 10);
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.01, 10));
+        book.addOrder(top);
+
+        assertTrue(book.cancelOrder(top.getOrderId()));
+        assertEquals(100.01, book.getBestBid());
+    }
+
+    @Test
+    @DisplayName("Ladder: cumulative depth index agrees with a level walk through rests, fills, cancels and re-centres")
+    void ladder_quantityThroughMatchesTree() {
+        OrderBook  tree = new OrderBook("TEST");
+        Random     rnd  = new Random(42);
+        List<Long> ids  = new ArrayList<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            int action = rnd.nextInt(10);
+            if (action < 6) {
+                Side  side  = rnd.nextBoolean() ? Side.BUY : Side.SELL;
+                // Mostly near 100.00, sometimes far enough to overflow the 16-tick band
+                long  ticks = 10_000 + (rnd.nextInt(8) == 0 ? rnd.nextInt(200) - 100 : rnd.nextInt(20) - 10);
+                int   qty   = 1 + rnd.nextInt(50);
+                Order a     = new Order("TEST", side, OrderType.LIMIT, ticks / 100.0, qty);
+                Order b     = new Order("TEST", side, OrderType.LIMIT, ticks / 100.0, qty);
+                book.addOrder(a);
+                tree.addOrder(b);
+                ids.add(a.getOrderId());
+                ids.add(b.getOrderId());
+            } else if (!ids.isEmpty()) {
+                int i = rnd.nextInt(ids.size() / 2) * 2;
+                assertEquals(book.cancelOrder(ids.get(i)), tree.cancelOrder(ids.get(i + 1)));
+            }
+
+            long probe = 10_000 + rnd.nextInt(240) - 120;
+            assertEquals(tree.getBidQuantityThrough(probe), book.getBidQuantityThrough(probe), "bids @" + probe);
+            assertEquals(tree.getAskQuantityThrough(probe), book.getAskQuantityThrough(probe), "asks @" + probe);
+        }
+    }
+
+    @Test
+    @DisplayName("Ladder: FOC accepted only when the index shows enough crossed quantity")
+    void ladder_focUsesCumulativeDepth() {
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 40));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.02, 40));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.05, 40));
+
+        Order tooBig = new Order("TEST", Side.BUY, OrderType.FOC, 100.02, 81);
+        assertTrue(book.addOrder(tooBig).isEmpty());
+        assertEquals(OrderStatus.CANCELLED, tooBig.getStatus());
+        assertEquals(120, book.getAskQuantity(), "book untouched");
+
+        Order fits = new Order("TEST", Side.BUY, OrderType.FOC, 100.02, 80);
+        assertEquals(2, book.addOrder(fits).size());
+        assertTrue(fits.isFilled());
+        assertEquals(40, book.getAskQuantityThrough(10_005));
+    }
+
+    @Test
+    @DisplayName("Hybrid: band follows a rising touch, demoting the far levels behind it")
+    void hybrid_bandFollowsTouch() {
+        LadderBookSide bids  = new LadderBookSide(Side.BUY, 16, new PriceLevelPool(8), true);
+        OrderStore     store = new HeapOrderStore(16);
+        rest(store, bids.getOrCreate(10_000), new Order("TEST", Side.BUY, OrderType.LIMIT, 100.00, 10));
+        rest(store, bids.getOrCreate(10_004), new Order("TEST", Side.BUY, OrderType.LIMIT, 100.04, 10));
+
+        // New touch past the band's better edge: band re-centres, 100.00 falls out
+        rest(store, bids.getOrCreate(10_020), new Order("TEST", Side.BUY, OrderType.LIMIT, 100.20, 10));
+        assertEquals(10_020 - 8, bids.getBase());
+        assertEquals(10_020, bids.best().getPriceTicks());
+        assertEquals(2, bids.getOverflowLevels(), "100.00 and 100.04 are now far levels");
+
+        // Touch falls back: the far levels are promoted again
+        PriceLevel top = bids.best();
+        top.dequeue(store);
+        bids.remove(top);
+        assertEquals(10_004, bids.best().getPriceTicks());
+        assertEquals(0, bids.getOverflowLevels());
+        assertEquals(20, bids.quantityThrough(10_000));
+    }
+
+    @Test
+    @DisplayName("Hybrid: matching and depth agree with the tree layout as prices drift")
+    void hybrid_matchesTreeUnderDrift() {
+        OrderBook hybrid = new OrderBook("TEST", BookSide.hybrid(16));
+        OrderBook tree   = new OrderBook("TEST");
+        Random    rnd    = new Random(7);
+        long      mid    = 10_000;
+
+        for (int step = 0; step < 3_000; step++) {
+            mid += rnd.nextInt(5) - 2;      // random walk, wanders far beyond the band
+            Side  side  = rnd.nextBoolean() ? Side.BUY : Side.SELL;
+            long  away  = rnd.nextInt(10) == 0 ? 20 + rnd.nextInt(80) : rnd.nextInt(6);
+            long  ticks = side == Side.BUY ? mid - away : mid + away;
+            int   qty   = 1 + rnd.nextInt(50);
+            List<Trade> a = hybrid.addOrder(new Order("TEST", side, OrderType.LIMIT, ticks / 100.0, qty));
+            List<Trade> b = tree.addOrder(new Order("TEST", side, OrderType.LIMIT, ticks / 100.0, qty));
+
+            assertEquals(b.size(), a.size(), "trades at step " + step);
+            assertEquals(tree.getBestBid(), hybrid.getBestBid());
+            assertEquals(tree.getBestAsk(), hybrid.getBestAsk());
+            assertEquals(tree.getBidDepth(), hybrid.getBidDepth());
+            long probe = mid + rnd.nextInt(60) - 30;
+            assertEquals(tree.getBidQuantityThrough(probe), hybrid.getBidQuantityThrough(probe), "bids @" + probe);
+            assertEquals(tree.getAskQuantityThrough(probe), hybrid.getAskQuantityThrough(probe), "asks @" + probe);
+        }
+    }
+
+    private static void rest(OrderStore store, PriceLevel level, Order order) {
+        level.enqueue(store, store.add(order));
+    }
+}
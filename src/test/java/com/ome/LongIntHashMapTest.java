@@ -0,0 +1,85 @@
+package com.ome;
+
+import com.ome.book.LongIntHashMap;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the primitive order-index map: backward-shift deletion and
+ * incremental resizing must never lose or resurrect an entry.
+ */
+@DisplayName("LongIntHashMap Tests")
+class LongIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    @DisplayName("Map: put / get / remove basics, including key 0")
+    void basics() {
+        LongIntHashMap map = new LongIntHashMap(16, MISSING);
+
+        assertEquals(MISSING, map.put(42L, 7));
+        assertEquals(7, map.put(42L, 8));
+        assertEquals(MISSING, map.put(0L, 3));
+        assertEquals(8, map.get(42L));
+        assertEquals(3, map.get(0L));
+        assertEquals(2, map.size());
+
+        assertEquals(8, map.remove(42L));
+        assertEquals(MISSING, map.get(42L));
+        assertEquals(MISSING, map.remove(42L));
+        assertEquals(3, map.remove(0L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Map: resize migrates incrementally without losing entries")
+    void incrementalResize() {
+        LongIntHashMap map = new LongIntHashMap(16, MISSING);
+        int initialCapacity = map.capacity();
+
+        boolean sawResizeInProgress = false;
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i, i * 2);
+            sawResizeInProgress |= map.isResizing();
+        }
+
+        assertTrue(sawResizeInProgress, "resize should span several puts");
+        assertTrue(map.capacity() > initialCapacity);
+        assertEquals(10_000, map.size());
+        for (int i = 1; i <= 10_000; i++) assertEquals(i * 2, map.get(i));
+    }
+
+    @Test
+    @DisplayName("Map: random operations agree with java.util.HashMap")
+    void randomisedAgainstHashMap() {
+        LongIntHashMap    map       = new LongIntHashMap(16, MISSING);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int op = 0; op < 200_000; op++) {
+            long key = random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    int value = random.nextInt(1_000_000);
+                    Integer prev = reference.put(key, value);
+                    assertEquals(prev == null ? MISSING : prev, map.put(key, value));
+                }
+                case 1 -> {
+                    Integer prev = reference.remove(key);
+                    assertEquals(prev == null ? MISSING : prev, map.remove(key));
+                }
+                default -> {
+                    Integer expected = reference.get(key);
+                    assertEquals(expected == null ? MISSING : expected, map.get(key));
+                }
+            }
+            assertEquals(reference.size(), map.size());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ome;
+
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.metrics.MetricsRegistry;
+import com.ome.metrics.StripedCounter;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for striped counters, the metrics registry and the engine counters
+ * built on them.
+ */
+@DisplayName("Metrics Tests")
+class MetricsTest {
+
+    @Test
+    @DisplayName("StripedCounter: concurrent adds from many threads are all counted")
+    void stripedCounter_concurrentAdds() throws InterruptedException {
+        StripedCounter counter = new StripedCounter();
+        Thread[]       writers = new Thread[8];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) counter.increment();
+            });
+            writers[t].start();
+        }
+        long seenWhileRunning = counter.sum();                 // never blocks, never goes backwards
+        for (Thread t : writers) t.join();
+
+        assertTrue(seenWhileRunning <= 800_000);
+        assertEquals(800_000, counter.sum());
+        assertTrue(Integer.bitCount(StripedCounter.stripes()) == 1);
+    }
+
+    @Test
+    @DisplayName("Registry: counters are created once by name; a clashing register is rejected")
+    void registry_namesAndSnapshot() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StripedCounter  a        = registry.counter("a");
+        assertSame(a, registry.counter("a"));
+        a.add(5);
+
+        StripedCounter external = new StripedCounter();
+        external.increment();
+        registry.register("b", external);
+        registry.register("b", external);
+        assertThrows(IllegalStateException.class, () -> registry.register("b", new StripedCounter()));
+
+        assertEquals(0, registry.get("missing"));
+        SortedMap<String, Long> snap = registry.snapshot();
+        assertEquals(Long.valueOf(5), snap.get("a"));
+        assertEquals(Long.valueOf(1), snap.get("b"));
+    }
+
+    @Test
+    @DisplayName("Engine: orders by type, trades, cancels and rejects are counted")
+    void engine_countsByCategory() throws InterruptedException {
+        EventBus       bus    = new EventBus();
+        MatchingEngine engine = new MatchingEngine(bus, 16);
+
+        Order resting = new Order("MET", Side.SELL, OrderType.LIMIT, 10.0, 100);
+        engine.submit(resting);
+        engine.submit(new Order("MET", Side.BUY, OrderType.MARKET, 0, 40));
+        engine.submit(new Order("MET", Side.BUY, OrderType.IOC, 10.0, 10));
+        engine.cancel("MET", resting.getOrderId());
+        engine.cancel("MET", resting.getOrderId());
+        engine.amend("NONE", 1, 10.0, 1);
+
+        MetricsRegistry m = engine.getMetrics();
+        assertEquals(3, m.get(MatchingEngine.METRIC_ORDERS));
+        assertEquals(1, m.get(MatchingEngine.METRIC_ORDERS + ".LIMIT"));
+        assertEquals(1, m.get(MatchingEngine.METRIC_ORDERS + ".MARKET"));
+        assertEquals(1, m.get(MatchingEngine.METRIC_ORDERS + ".IOC"));
+        assertEquals(2, m.get(MatchingEngine.METRIC_TRADES));
+        assertEquals(1, m.get(MatchingEngine.METRIC_CANCELS));
+        assertEquals(2, m.get(MatchingEngine.METRIC_REJECTS), "unknown order, then unknown book");
+        assertEquals(engine.getTotalOrders(), m.get(MatchingEngine.METRIC_ORDERS));
+        bus.shutdown();
+    }
+}
@@ -0,0 +1,121 @@
+package com.ome;
+
+import com.ome.book.BookConfig;
+import com.ome.book.TradeStore;
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.feed.MarketEvent;
+import com.ome.feed.TradeEvent;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for pooled orders and trades: objects must come back to the
+ * engine's pools only once the book and the EventBus are done with them.
+ */
+@DisplayName("Order & Trade Pooling Tests")
+class ObjectPoolingTest {
+
+    private EventBus       bus;
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus();
+        engine = new MatchingEngine(bus, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Pooling: filled maker, taker and trade all return to their pools")
+    void filledOrdersAndTradesAreRecycled() {
+        AtomicLong tradedQty = new AtomicLong();
+        bus.subscribe(MarketEvent.EventType.TRADE,
+                e -> tradedQty.addAndGet(((TradeEvent) e).getTrade().getQuantity()));
+        // No trade history: the event is the trade's only other holder
+        engine.setBookConfig("POOL", BookConfig.DEFAULT.toBuilder().tradeRetention(TradeStore.none()).build());
+
+        Order sell = engine.newOrder("POOL", Side.SELL, OrderType.LIMIT, 10.00, 100);
+        engine.process(sell);
+        assertEquals(0, engine.getOrderPool().getAvailable(), "resting order is still owned by the book");
+
+        engine.process(engine.newOrder("POOL", Side.BUY, OrderType.LIMIT, 10.00, 100));
+
+        awaitTrue(() -> engine.getOrderPool().getAvailable() == 2
+                     && engine.getTradePool().getAvailable() == 1);
+        assertEquals(100, tradedQty.get());
+
+        long  created = engine.getOrderPool().getCreated();
+        Order reused  = engine.newOrder("POOL", Side.BUY, OrderType.LIMIT, 9.00, 5);
+        assertEquals(created, engine.getOrderPool().getCreated(), "should reuse, not create");
+        assertEquals(OrderStatus.NEW, reused.getStatus());
+        assertEquals(5, reused.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Pooling: process() fills go into the trade history, which holds them until evicted")
+    void processedTradesAreRecordedAndRecycledOnEviction() {
+        engine.setBookConfig("POOL", BookConfig.DEFAULT.toBuilder().tradeRetention(TradeStore.ring(1)).build());
+
+        engine.process(engine.newOrder("POOL", Side.SELL, OrderType.LIMIT, 10.00, 100));
+        engine.process(engine.newOrder("POOL", Side.BUY,  OrderType.LIMIT, 10.00, 40));
+        Trade first = engine.getBook("POOL").getTradeHistory().get(0);
+        assertEquals(40, first.getQuantity());
+
+        awaitTrue(() -> engine.getOrderPool().getAvailable() == 1);      // the filled buy
+        assertEquals(0, engine.getTradePool().getAvailable(), "still held by the history");
+
+        engine.process(engine.newOrder("POOL", Side.BUY,  OrderType.LIMIT, 10.00, 60));
+        assertEquals(60, engine.getBook("POOL").getTradeHistory().get(0).getQuantity());
+        awaitTrue(() -> engine.getTradePool().getAvailable() == 1);      // the evicted first trade
+    }
+
+    @Test
+    @DisplayName("Pooling: a cancelled resting order is recycled after its events")
+    void cancelledOrderIsRecycled() {
+        Order buy = engine.newOrder("POOL", Side.BUY, OrderType.LIMIT, 10.00, 100);
+        long  id  = buy.getOrderId();
+        engine.process(buy);
+
+        assertTrue(engine.getBook("POOL").cancelOrder(id));
+        awaitTrue(() -> engine.getOrderPool().getAvailable() == 1);
+    }
+
+    @Test
+    @DisplayName("Pooling: unpooled orders ignore retain/release")
+    void unpooledOrdersAreUnaffected() {
+        Order order = new Order("POOL", Side.BUY, OrderType.LIMIT, 10.00, 100);
+        order.release();
+        order.release();
+
+        assertFalse(order.isPooled());
+        assertEquals(OrderStatus.NEW, order.getStatus());
+    }
+
+    @Test
+    @DisplayName("Pooling: releasing more than retained is an error")
+    void overReleaseThrows() {
+        ObjectPool<Order> pool  = Order.newPool(4);
+        Order             order = Order.pooled(pool, "POOL", Side.BUY, OrderType.LIMIT, 10.00, 1);
+
+        order.release();
+        assertThrows(IllegalStateException.class, order::release);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 2s");
+            Thread.onSpinWait();
+        }
+    }
+}
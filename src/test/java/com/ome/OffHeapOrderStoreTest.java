@@ -0,0 +1,131 @@
+package com.ome;
+
+import com.ome.book.BookConfig;
+import com.ome.book.BookSide;
+import com.ome.book.OffHeapOrderStore;
+import com.ome.book.OrderBook;
+import com.ome.book.OrderStore;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for books whose resting orders live in off-heap records rather than
+ * Order objects. Matching behaviour must be identical to the heap store.
+ */
+@DisplayName("Off-Heap Order Store Tests")
+class OffHeapOrderStoreTest {
+
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("TEST", new BookConfig.Builder()
+                .sides(BookSide.ladder(64))
+                .orderStore(OrderStore.offHeap())
+                .expectedOrders(16)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Off-heap: price-time priority and partial fills match the heap store")
+    void offHeap_priceTimePriority() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.01, 50);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 50);
+        Order sell3 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 50);
+        book.addOrder(sell1);
+        book.addOrder(sell2);
+        book.addOrder(sell3);
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.01, 120));
+
+        assertEquals(3, trades.size());
+        assertEquals(sell2.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(sell3.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(sell1.getOrderId(), trades.get(2).getSellOrderId());
+        assertEquals(20, trades.get(2).getQuantity());
+        assertEquals(100.01, book.getBestAsk());
+        assertEquals(1, book.getAskDepth());
+
+        // The remaining 30 of sell1 is still there for the next buyer
+        trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.MARKET, 0, 100));
+        assertEquals(1, trades.size());
+        assertEquals(30, trades.get(0).getQuantity());
+        assertEquals(0, book.getAskDepth());
+    }
+
+    @Test
+    @DisplayName("Off-heap: cancel unlinks from the middle of a level")
+    void offHeap_cancelMiddle() {
+        Order a = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.00, 10);
+        Order b = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.00, 20);
+        Order c = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.00, 30);
+        book.addOrder(a);
+        book.addOrder(b);
+        book.addOrder(c);
+
+        assertTrue(book.cancelOrder(b.getOrderId()));
+        assertFalse(book.cancelOrder(b.getOrderId()), "already gone");
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.SELL, OrderType.MARKET, 0, 40));
+        assertEquals(2, trades.size());
+        assertEquals(a.getOrderId(), trades.get(0).getBuyOrderId());
+        assertEquals(c.getOrderId(), trades.get(1).getBuyOrderId());
+    }
+
+    @Test
+    @DisplayName("Off-heap: amend reduces in place and re-prices across the spread")
+    void offHeap_amend() {
+        Order bid1 = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.00, 50);
+        Order bid2 = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.00, 50);
+        book.addOrder(bid1);
+        book.addOrder(bid2);
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 99.50, 10));
+
+        assertTrue(book.replaceOrder(bid1.getOrderId(), 9_900, 30));
+        assertEquals(80, book.getBidQuantity());
+
+        // bid2 crosses the 10-lot ask and rests 40 at the new price
+        assertTrue(book.replaceOrder(bid2.getOrderId(), 9_950, 50));
+        assertEquals(1, book.getTradeHistory().size());
+        assertEquals(99.50, book.getBestBid());
+        assertEquals(70, book.getBidQuantity());
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.SELL, OrderType.MARKET, 0, 70));
+        assertEquals(bid2.getOrderId(), trades.get(0).getBuyOrderId());
+        assertEquals(40, trades.get(0).getQuantity());
+        assertEquals(bid1.getOrderId(), trades.get(1).getBuyOrderId());
+        assertEquals(30, trades.get(1).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Off-heap: store grows past one chunk and recycles handles")
+    void offHeap_growsAndRecycles() {
+        OffHeapOrderStore store    = new OffHeapOrderStore(16);
+        long              reserved = store.getReservedBytes();
+        List<Integer>     handles  = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            handles.add(store.add(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.00, 1 + i % 7)));
+        }
+        assertTrue(store.getReservedBytes() > reserved, "second chunk should be reserved");
+        assertEquals(20_000, store.size());
+
+        int last = handles.get(handles.size() - 1);
+        store.fill(last, 1);
+        assertEquals(1, store.filled(last));
+        assertEquals(Side.BUY, store.side(last));
+        assertEquals(10_000, store.priceTicks(last));
+
+        long id = store.orderId(last);
+        store.remove(last);
+        assertEquals(OrderStore.NIL, store.handleOf(id));
+        assertEquals(last, store.add(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.00, 5)),
+                     "freed handle should be reused");
+        assertEquals(Side.SELL, store.side(last));
+    }
+}
@@ -1,6 +1,11 @@
 package com.ome;
 
+import com.ome.book.BookConfig;
 import com.ome.book.OrderBook;
+import com.ome.book.OrderStore;
+import com.ome.book.PriceLevel;
+import com.ome.engine.MatchingEngine;
+import com.ome.feed.EventBus;
 import com.ome.model.*;
 import org.junit.jupiter.api.*;
 
@@ -223,6 +228,30 @@ class OrderBookTest {
         assertEquals(101.0, book.getVWAP(), 0.001, "VWAP should be 101.0");
     }
 
+    @Test
+    @DisplayName("Depth: order count and quantity track rests, fills and cancels")
+    void marketData_depthCounters() {
+        Order bid  = new Order("TEST", Side.BUY,  OrderType.LIMIT, 99.0, 100);
+        book.addOrder(bid);
+        book.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 98.0, 50));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 70));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 30));
+        assertEquals(2,   book.getBidDepth());
+        assertEquals(150, book.getBidQuantity());
+        assertEquals(2,   book.getAskDepth());
+        assertEquals(100, book.getAskQuantity());
+
+        // Takes all of the first ask and half of the second
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 101.0, 85));
+        assertEquals(1,   book.getAskDepth());
+        assertEquals(15,  book.getAskQuantity());
+        assertEquals(2,   book.getBidDepth());
+
+        book.cancelOrder(bid.getOrderId());
+        assertEquals(1,   book.getBidDepth());
+        assertEquals(50,  book.getBidQuantity());
+    }
+
     // ── Cancellation ──────────────────────────────────────────────────────────
 
     @Test
@@ -237,6 +266,28 @@ class OrderBookTest {
         assertEquals(0.0, book.getBestBid(), "Book should be empty after cancel");
     }
 
+    @Test
+    @DisplayName("Cancel: removing from the middle of a level keeps FIFO for the rest")
+    void cancel_middleOfLevelKeepsTimePriority() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 20);
+        Order sell3 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 30);
+        book.addOrder(sell1);
+        book.addOrder(sell2);
+        book.addOrder(sell3);
+
+        assertTrue(book.cancelOrder(sell2.getOrderId()));
+        assertEquals(OrderStatus.CANCELLED, sell2.getStatus());
+        assertFalse(book.cancelOrder(sell2.getOrderId()), "second cancel must miss");
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 40));
+
+        assertEquals(2, trades.size());
+        assertEquals(sell1.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(sell3.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(0, book.getAskDepth());
+    }
+
     @Test
     @DisplayName("Cancel: returns false for unknown order id")
     void cancel_unknownOrderId() {
@@ -244,6 +295,257 @@ class OrderBookTest {
         assertFalse(result);
     }
 
+    @Test
+    @DisplayName("Mass cancel: removes only the owner's orders, optionally one side")
+    void massCancel_ownerAndSide() {
+        Order aBid1 = new Order("TEST", Side.BUY,  OrderType.LIMIT, 99.0,  10, "alice");
+        Order aBid2 = new Order("TEST", Side.BUY,  OrderType.LIMIT, 98.0,  10, "alice");
+        Order aAsk  = new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 10, "alice");
+        Order bBid  = new Order("TEST", Side.BUY,  OrderType.LIMIT, 99.0,  10, "bob");
+        book.addOrder(aBid1);
+        book.addOrder(bBid);
+        book.addOrder(aBid2);
+        book.addOrder(aAsk);
+        assertEquals(3, book.getOwnerOrderCount("alice"));
+
+        assertEquals(2, book.massCancel("alice", Side.BUY));
+        assertEquals(OrderStatus.CANCELLED, aBid1.getStatus());
+        assertEquals(OrderStatus.CANCELLED, aBid2.getStatus());
+        assertEquals(OrderStatus.OPEN, aAsk.getStatus());
+        assertEquals(1, book.getBidDepth(), "bob's bid is untouched");
+        assertEquals(99.0, book.getBestBid());
+
+        assertEquals(1, book.massCancel("alice"));
+        assertEquals(0, book.getOwnerOrderCount("alice"));
+        assertEquals(0, book.massCancel("nobody"));
+    }
+
+    @Test
+    @DisplayName("Mass cancel: filled orders leave the owner index")
+    void massCancel_skipsFilledOrders() {
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10, "carol"));
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 10, "carol"));
+        book.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 10));
+
+        assertEquals(1, book.getOwnerOrderCount("carol"));
+        assertEquals(1, book.massCancel("carol"));
+        assertEquals(0, book.getAskDepth());
+    }
+
+    // ── Amend (Cancel/Replace) ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Amend: quantity reduction keeps time priority")
+    void amend_reduceKeepsPriority() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 50);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 50);
+        book.addOrder(sell1);
+        book.addOrder(sell2);
+
+        assertTrue(book.replaceOrder(sell1.getOrderId(), 10_000, 20));
+        assertEquals(20, sell1.getRemainingQuantity());
+        assertEquals(70, book.getAskQuantity());
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 30));
+        assertEquals(sell1.getOrderId(), trades.get(0).getSellOrderId(), "reduced order still first");
+        assertEquals(20, trades.get(0).getQuantity());
+        assertTrue(sell1.isFilled());
+    }
+
+    @Test
+    @DisplayName("Amend: size increase goes to the back of the level")
+    void amend_increaseLosesPriority() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 50);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 50);
+        book.addOrder(sell1);
+        book.addOrder(sell2);
+
+        assertTrue(book.replaceOrder(sell1.getOrderId(), 10_000, 80));
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 60));
+        assertEquals(sell2.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(sell1.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(70, book.getAskQuantity());
+    }
+
+    @Test
+    @DisplayName("Amend: price move that crosses trades immediately and rests the remainder")
+    void amend_priceMoveCrosses() {
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 30));
+        Order bid = new Order("TEST", Side.BUY, OrderType.LIMIT, 99.0, 100);
+        book.addOrder(bid);
+
+        assertTrue(book.replaceOrder(bid.getOrderId(), 10_100, 100));
+
+        assertEquals(1, book.getTradeHistory().size());
+        assertEquals(bid.getOrderId(), book.getTradeHistory().get(0).getBuyOrderId());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, bid.getStatus());
+        assertEquals(70, bid.getRemainingQuantity());
+        assertEquals(101.0, book.getBestBid());
+        assertEquals(0, book.getAskDepth());
+        assertFalse(book.replaceOrder(424242L, 10_000, 1), "unknown id");
+        assertThrows(IllegalArgumentException.class, () -> book.replaceOrder(bid.getOrderId(), 10_000, 0));
+    }
+
+    @Test
+    @DisplayName("Amend: the engine records a crossing amend's fills in the trade history")
+    void amend_engineRecordsCrossingFills() throws InterruptedException {
+        EventBus       bus    = new EventBus();
+        MatchingEngine engine = new MatchingEngine(bus, 16);
+        engine.process(engine.newOrder("AMD", Side.SELL, OrderType.LIMIT, 101.0, 30));
+        Order bid   = engine.newOrder("AMD", Side.BUY, OrderType.LIMIT, 99.0, 100);
+        long  bidId = bid.getOrderId();
+        engine.process(bid);
+
+        assertTrue(engine.amend("AMD", bidId, 101.0, 100));
+
+        List<Trade> history = engine.getBook("AMD").getTradeHistory();
+        assertEquals(1, history.size());
+        assertEquals(bidId, history.get(0).getBuyOrderId());
+        assertEquals(30, history.get(0).getQuantity());
+        assertEquals(10_100, history.get(0).getExecutionPriceTicks());
+        bus.shutdown();
+    }
+
+    // ── Batch Entry ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Batch: addOrders matches each order in arrival order")
+    void batch_addOrdersInArrivalOrder() {
+        Order sell1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 40);
+        Order sell2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 40);
+        Order buy   = new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 60);
+        Order ioc   = new Order("TEST", Side.BUY,  OrderType.IOC,   100.0, 50);
+
+        List<Trade> trades = book.addOrders(List.of(sell1, sell2, buy, ioc));
+
+        assertEquals(3, trades.size());
+        assertEquals(sell1.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(buy.getOrderId(),   trades.get(1).getBuyOrderId());
+        assertEquals(ioc.getOrderId(),   trades.get(2).getBuyOrderId());
+        assertEquals(20, trades.get(2).getQuantity());
+        assertEquals(OrderStatus.CANCELLED, ioc.getStatus());
+        assertEquals(0, book.getAskDepth());
+        assertEquals(3, book.getTradeHistory().size());
+    }
+
+    // ── Lazy Cancel ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Lazy cancel: tombstoned orders are skipped and depth is unchanged from eager")
+    void lazyCancel_matchesEager() {
+        OrderBook lazy = new OrderBook("TEST", new BookConfig.Builder()
+                .cancelMode(BookConfig.CancelMode.LAZY)
+                .build());
+        Order s1 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10);
+        Order s2 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 20);
+        Order s3 = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 30);
+        Order s4 = new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 40);
+        lazy.addOrder(s1);
+        lazy.addOrder(s2);
+        lazy.addOrder(s3);
+        lazy.addOrder(s4);
+
+        assertTrue(lazy.cancelOrder(s1.getOrderId()));
+        assertFalse(lazy.cancelOrder(s1.getOrderId()), "already gone");
+        assertEquals(OrderStatus.CANCELLED, s1.getStatus());
+        assertEquals(3, lazy.getAskDepth());
+        assertEquals(90, lazy.getAskQuantity());
+        assertEquals(50, lazy.getAskQuantityThrough(10_000));
+
+        // Dead head is freed on the way, s2 then s3 fill in time order
+        List<Trade> trades = lazy.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 35));
+        assertEquals(2, trades.size());
+        assertEquals(s2.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(s3.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(15, trades.get(1).getQuantity());
+
+        // Cancelling the level's last live order drops the level
+        assertTrue(lazy.cancelOrder(s3.getOrderId()));
+        assertEquals(101.0, lazy.getBestAsk());
+        assertEquals(1, lazy.getAskDepth());
+    }
+
+    @Test
+    @DisplayName("Lazy cancel: compaction frees tombstones past the dead ratio")
+    void lazyCancel_compactionFreesTombstones() {
+        OrderStore store = OrderStore.heap().create(8);
+        PriceLevel level = new PriceLevel(10_000);
+        int[]      h     = new int[4];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = store.add(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10));
+            level.enqueue(store, h[i]);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            store.unindex(h[i]);
+            level.tombstone(store, h[i]);
+        }
+        assertEquals(2, level.getOrderCount());
+        assertEquals(20, level.getTotalQty());
+        assertFalse(level.needsCompaction(0.5), "exactly half dead is not past the ratio");
+
+        store.unindex(h[2]);
+        level.tombstone(store, h[2]);
+        assertTrue(level.needsCompaction(0.5));
+
+        level.compact(store);
+        assertEquals(0, level.getDeadCount());
+        assertEquals(h[3], level.peek(), "only the live order is left linked");
+        assertEquals(1, store.size());
+        int reused = store.add(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10));
+        assertTrue(reused == h[0] || reused == h[1] || reused == h[2], "freed handle should be reused");
+    }
+
+    // ── Level Pool ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Level pool: a level that flickers at the touch is recycled, not reallocated")
+    void levelPool_touchFlickerReusesLevels() {
+        for (int i = 0; i < 100; i++) {
+            book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 100.0, 10));
+            book.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, 100.0, 10));
+        }
+
+        assertEquals(0, book.getAskDepth());
+        assertEquals(1, book.getLevelPool().getMisses(), "only the first level is allocated");
+        assertEquals(99, book.getLevelPool().getHits());
+        assertEquals(1, book.getLevelPool().getAvailable());
+
+        // A recycled level takes on its new price and starts empty
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 98.0, 5));
+        assertEquals(98.0, book.getBestBid());
+        assertEquals(5, book.getBidQuantity());
+    }
+
+    // ── Fixed-Point Prices ────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Ticks: prices are held and traded as exact long ticks")
+    void ticks_exactPriceTicks() {
+        Order sell = new Order("TEST", Side.SELL, OrderType.LIMIT, 150.25, 100);
+        assertEquals(15025L, sell.getPriceTicks());
+        book.addOrder(sell);
+
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 150.30, 100));
+
+        assertEquals(15025L, trades.get(0).getExecutionPriceTicks());
+        assertEquals(150.25, trades.get(0).getExecutionPrice());
+        assertEquals(15025L, book.getLastTradePriceTicks());
+    }
+
+    @Test
+    @DisplayName("Ticks: per-symbol tick size is applied and off-grid prices are rejected")
+    void ticks_perSymbolTickSize() {
+        TickSize.register("TICKQ", 0.25);
+        Order quarter = new Order("TICKQ", Side.BUY, OrderType.LIMIT, 101.75, 10);
+
+        assertEquals(407L, quarter.getPriceTicks());
+        assertEquals(101.75, quarter.getPrice());
+        assertThrows(IllegalArgumentException.class, () ->
+                new Order("TICKQ", Side.BUY, OrderType.LIMIT, 101.10, 10));
+    }
+
     // ── Order Validation ──────────────────────────────────────────────────────
 
     @Test
@@ -0,0 +1,161 @@
+package com.ome;
+
+import com.ome.engine.MatchingEngine;
+import com.ome.engine.OrderCommand;
+import com.ome.engine.OrderSequencer;
+import com.ome.engine.WaitStrategy;
+import com.ome.feed.EventBus;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ring-buffer sequencer in front of the engine: multiple
+ * producers, wrap-around, and commands applied in sequence order.
+ */
+@DisplayName("Order Sequencer Tests")
+class OrderSequencerTest {
+
+    private EventBus       bus;
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus(200_000);
+        engine = new MatchingEngine(bus, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sequencer: rejects a ring size that is not a power of two")
+    void ringSize_mustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderSequencer(engine, 100, WaitStrategy.YIELD));
+    }
+
+    @Test
+    @DisplayName("Sequencer: producers on several threads lap a small ring without losing a command")
+    void multiProducer_wrapsWithoutLoss() throws InterruptedException {
+        for (WaitStrategy wait : WaitStrategy.values()) {
+            MatchingEngine  local     = new MatchingEngine(bus, 64);
+            OrderSequencer  sequencer = new OrderSequencer(local, 8, wait);
+            Thread[]        producers = new Thread[4];
+            for (int p = 0; p < producers.length; p++) {
+                producers[p] = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        sequencer.submit(c -> c.newOrder("SEQ", Side.SELL, OrderType.LIMIT, 10.0, 1, null));
+                        sequencer.submit(c -> c.newOrder("SEQ", Side.BUY,  OrderType.LIMIT, 10.0, 1, null));
+                    }
+                });
+                producers[p].start();
+            }
+            for (Thread t : producers) t.join();
+            sequencer.awaitApplied();
+            sequencer.shutdown();
+
+            assertEquals(3_999, sequencer.getAppliedSequence(), wait.name());
+            assertEquals(4_000, local.getTotalOrders(), wait.name());
+            assertEquals(2_000, local.getTotalTrades(), wait.name() + ": one side rests at a time, so every pair trades");
+            assertEquals(0, local.getBook("SEQ").getBidDepth() + local.getBook("SEQ").getAskDepth(), wait.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Sequencer: two-phase claim/publish applies new, amend and cancel in sequence order")
+    void twoPhase_appliesInSequence() throws InterruptedException {
+        OrderSequencer sequencer = new OrderSequencer(engine, 4, WaitStrategy.PARK);
+
+        long seq = sequencer.next();
+        OrderCommand cmd = sequencer.get(seq);
+        long id = cmd.newOrder("SEQ", Side.BUY, OrderType.LIMIT, 20.0, 50, "alice").goodTill(Long.MAX_VALUE).getOrderId();
+        sequencer.publish(seq);
+        assertEquals(0, seq);
+        assertEquals(OrderSequencer.orderIdFor(seq), id, "known to the producer before the consumer runs");
+        sequencer.awaitApplied();
+
+        assertEquals(1, engine.getBook("SEQ").getBidDepth());
+        sequencer.submit(c -> c.amend("SEQ", id, 20.0, 30));
+        sequencer.submit(c -> c.cancel("SEQ", id));
+        sequencer.submit(c -> c.newOrder("SEQ", Side.SELL, OrderType.LIMIT, 20.0, 10, null));
+        sequencer.shutdown();
+
+        assertEquals(3, sequencer.getAppliedSequence());
+        assertEquals(0, engine.getBook("SEQ").getBidDepth(), "cancelled by its producer-side id before the sell arrived");
+        assertEquals(0, engine.getMetrics().get(MatchingEngine.METRIC_REJECTS));
+        assertEquals(1, engine.getBook("SEQ").getAskDepth());
+        assertEquals(0, engine.getTotalTrades());
+    }
+
+    @Test
+    @DisplayName("Sequencer: replaying a run into a fresh engine gives the same order ids and fills")
+    void replay_reproducesIdsAndFills() throws InterruptedException {
+        List<Trade> first  = runScript(new MatchingEngine(bus, 64));
+        new Order("OTHER", Side.BUY, OrderType.LIMIT, 1.0, 1);                // the global generator moves on
+        List<Trade> replay = runScript(new MatchingEngine(bus, 64));
+
+        assertEquals(3, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getBuyOrderId(),  replay.get(i).getBuyOrderId());
+            assertEquals(first.get(i).getSellOrderId(), replay.get(i).getSellOrderId());
+            assertEquals(first.get(i).getQuantity(),    replay.get(i).getQuantity());
+        }
+    }
+
+    private static List<Trade> runScript(MatchingEngine target) throws InterruptedException {
+        OrderSequencer sequencer = new OrderSequencer(target, 8, WaitStrategy.YIELD);
+        sequencer.submit(c -> c.newOrder("RPL", Side.SELL, OrderType.LIMIT, 10.0, 30, null));
+        sequencer.submit(c -> c.newOrder("RPL", Side.SELL, OrderType.LIMIT, 10.5, 30, null));
+        long bid = OrderSequencer.orderIdFor(sequencer.submit(c -> c.newOrder("RPL", Side.BUY, OrderType.LIMIT, 10.0, 50, null)));
+        sequencer.submit(c -> c.amend("RPL", bid, 10.5, 20));
+        sequencer.submit(c -> c.newOrder("RPL", Side.BUY, OrderType.MARKET, 0, 5, null));
+        sequencer.shutdown();
+        return target.getBook("RPL").getTradeHistory();
+    }
+
+    @Test
+    @DisplayName("Sequencer: shutdown drains every claim and fails producers still waiting on a full ring")
+    void shutdown_drainsClaimsAndReleasesWaitingProducers() throws InterruptedException {
+        OrderSequencer sequencer = new OrderSequencer(engine, 4, WaitStrategy.PARK);
+
+        long stalled = sequencer.next();                     // claimed, not yet published: the consumer waits here
+        for (int i = 0; i < 3; i++) sequencer.submit(c -> c.newOrder("SEQ", Side.BUY, OrderType.LIMIT, 10.0, 1, null));
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread[]        blocked  = new Thread[2];             // ring is full: both wait in next()
+        for (int p = 0; p < blocked.length; p++) {
+            blocked[p] = new Thread(() -> {
+                try {
+                    sequencer.submit(c -> c.newOrder("SEQ", Side.SELL, OrderType.LIMIT, 99.0, 1, null));
+                } catch (IllegalStateException ex) {
+                    failures.add(ex);
+                }
+            });
+            blocked[p].start();
+        }
+        Thread stopper = new Thread(() -> {
+            try { sequencer.shutdown(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        });
+        for (int i = 0; i < 1_000 && sequencer.getPublishedSequence() < 5; i++) Thread.sleep(1);
+        stopper.start();
+        for (int i = 0; i < 1_000 && stopper.getState() != Thread.State.WAITING; i++) Thread.sleep(1);  // in join()
+
+        sequencer.get(stalled).newOrder("SEQ", Side.BUY, OrderType.LIMIT, 10.0, 1, null);
+        sequencer.publish(stalled);
+        stopper.join(5_000);
+        for (Thread t : blocked) t.join(5_000);
+
+        assertFalse(stopper.isAlive(), "shutdown completed");
+        assertEquals(2, failures.size(), "claims that lost the race with shutdown are rejected, not lost");
+        assertEquals(5, sequencer.getAppliedSequence(), "consumer drained up to the cursor");
+        assertEquals(4, engine.getBook("SEQ").getBidDepth());
+        assertEquals(0, engine.getBook("SEQ").getAskDepth());
+        assertThrows(IllegalStateException.class, sequencer::next);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ome;
+
+import com.ome.engine.ShardedMatchingEngine;
+import com.ome.feed.EventBus;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the symbol-sharded engine: routing, per-symbol ordering across
+ * shard threads, and commands completed on the owning shard.
+ */
+@DisplayName("Sharded Engine Tests")
+class ShardedEngineTest {
+
+    private EventBus              bus;
+    private ShardedMatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus    = new EventBus(100_000);
+        engine = new ShardedMatchingEngine(bus, 4, 1_024, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.shutdown();
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sharded: a symbol always routes to the same shard, and symbols spread across shards")
+    void routing_isStableAndSpread() {
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 64; i++) {
+            String symbol = "SYM" + i;
+            assertEquals(engine.shardOf(symbol), engine.shardOf(symbol.toLowerCase()));
+            used.add(engine.shardOf(symbol));
+        }
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    @DisplayName("Sharded: many symbols from several producers match as if each symbol were serial")
+    void concurrentSymbols_matchPerSymbolInOrder() throws Exception {
+        int symbols = 16, rounds = 200;
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            int first = p;
+            producers[p] = new Thread(() -> {
+                for (int s = first; s < symbols; s += producers.length) {
+                    String symbol = "S" + s;
+                    for (int r = 0; r < rounds; r++) {
+                        engine.submit(engine.newOrder(symbol, Side.SELL, OrderType.LIMIT, 100.0, 10));
+                        engine.submit(engine.newOrder(symbol, Side.BUY,  OrderType.LIMIT, 100.0, 10));
+                    }
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread t : producers) t.join();
+        engine.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(symbols * rounds * 2L, engine.getTotalOrders());
+        assertEquals(symbols * rounds,      engine.getTotalTrades(), "every sell rests before its buy arrives");
+        for (int s = 0; s < symbols; s++) {
+            assertEquals(0, engine.getBook("S" + s).getBidDepth());
+            assertEquals(0, engine.getBook("S" + s).getAskDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("Sharded: cancel runs after the orders queued before it and completes its future")
+    void cancel_completesOnOwningShard() throws Exception {
+        Order resting = new Order("ACME", Side.BUY, OrderType.LIMIT, 50.0, 100);
+        engine.submit(resting);
+
+        assertTrue(engine.cancel("ACME", resting.getOrderId()).get(5, TimeUnit.SECONDS));
+        assertFalse(engine.cancel("ACME", resting.getOrderId()).get(5, TimeUnit.SECONDS));
+        int depth = engine.onShard("ACME", e -> e.getBook("ACME").getBidDepth()).get(5, TimeUnit.SECONDS);
+        assertEquals(0, depth);
+    }
+
+    @Test
+    @DisplayName("Sharded: a pooled stop order from its shard waits off the book and fires on a trade")
+    void stopOrder_firesOnOwningShard() throws Exception {
+        engine.submit(engine.newOrder("STP", Side.BUY, OrderType.STOP, 0, 101.0, 30, "alice"));
+        engine.submit(engine.newOrder("STP", Side.SELL, OrderType.LIMIT, 101.0, 50));
+        engine.submit(engine.newOrder("STP", Side.SELL, OrderType.LIMIT, 101.0, 50));
+        int pending = engine.onShard("STP", e -> e.getBook("STP").getPendingStopCount()).get(5, TimeUnit.SECONDS);
+        assertEquals(1, pending);
+
+        engine.submit(engine.newOrder("STP", Side.BUY, OrderType.LIMIT, 101.0, 10));   // trade at 101 triggers it
+        long askLeft = engine.onShard("STP", e -> e.getBook("STP").getAskQuantity()).get(5, TimeUnit.SECONDS);
+        assertEquals(60, askLeft, "10 traded by the limit, 30 by the triggered stop");
+    }
+
+    @Test
+    @DisplayName("Sharded: every command accepted while shutdown races with it completes one way or the other")
+    void shutdown_completesRacingCommands() throws InterruptedException {
+        ShardedMatchingEngine racing = new ShardedMatchingEngine(bus, 2, 16, 16);
+        List<CompletableFuture<Integer>> accepted = new CopyOnWriteArrayList<>();
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            String symbol = "SYM" + p;
+            producers[p] = new Thread(() -> {
+                try {
+                    while (true) accepted.add(racing.onShard(symbol, e -> e.getBookCount()));
+                } catch (IllegalStateException shutDown) {
+                    // rejected at the door: nothing left pending
+                }
+            });
+            producers[p].start();
+        }
+        Thread.sleep(20);
+        racing.shutdown();
+        for (Thread t : producers) t.join(5_000);
+
+        assertFalse(accepted.isEmpty());
+        assertTrue(accepted.stream().allMatch(CompletableFuture::isDone), "no future left pending");
+    }
+}
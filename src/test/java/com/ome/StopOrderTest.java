@@ -0,0 +1,138 @@
+package com.ome;
+
+import com.ome.book.OrderBook;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for STOP and STOP_LIMIT orders: held off the book until the last
+ * trade price reaches the stop, then matched in a deterministic order.
+ */
+@DisplayName("Stop Order Tests")
+class StopOrderTest {
+
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("TEST");
+    }
+
+    private static Order stop(Side side, double stopPrice, int qty) {
+        return new Order("TEST", side, OrderType.STOP, 0, stopPrice, qty, null);
+    }
+
+    private void trade(double price, int qty) {
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, price, qty));
+        book.addOrder(new Order("TEST", Side.BUY,  OrderType.LIMIT, price, qty));
+    }
+
+    @Test
+    @DisplayName("Stop: a buy stop waits off the book and fires as MARKET once a trade reaches it")
+    void stop_triggersOnLastTrade() {
+        trade(100.0, 10);
+        Order buyStop = stop(Side.BUY, 101.0, 30);
+        assertTrue(book.addOrder(buyStop).isEmpty());
+        assertEquals(1, book.getPendingStopCount());
+        assertEquals(0, book.getBidDepth(), "a pending stop is not on the book");
+
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 102.0, 50));
+        trade(100.5, 10);                                  // below the stop: nothing
+        assertEquals(1, book.getPendingStopCount());
+
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 5));
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 101.0, 5));
+
+        assertEquals(2, trades.size(), "the 101.00 trade, then the triggered stop");
+        assertEquals(buyStop.getOrderId(), trades.get(1).getBuyOrderId());
+        assertEquals(102.0, trades.get(1).getExecutionPrice());
+        assertTrue(buyStop.isFilled());
+        assertEquals(0, book.getPendingStopCount());
+    }
+
+    @Test
+    @DisplayName("Stop: triggered stops cascade in stop-price then arrival order; STOP_LIMIT rests")
+    void stop_cascadeIsDeterministic() {
+        trade(100.0, 1);
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 99.0, 10));
+        book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 97.0, 10));
+
+        Order s98a  = stop(Side.SELL, 98.0, 10);
+        Order s99   = stop(Side.SELL, 99.0, 10);
+        Order s98b  = stop(Side.SELL, 98.0, 10);
+        Order limit = new Order("TEST", Side.SELL, OrderType.STOP_LIMIT, 96.5, 97.0, 5, null);
+        for (Order o : List.of(s98a, s99, s98b, limit)) book.addOrder(o);
+
+        // Trade at 99 fires s99 (hits 97 bid) → last 97 fires s98a, s98b, then the stop-limit
+        List<Trade> trades = book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 99.0, 10));
+
+        assertEquals(2, trades.size());
+        assertEquals(s99.getOrderId(), trades.get(1).getSellOrderId());
+        assertTrue(s99.isFilled());
+        assertEquals(0, s98a.getFilledQuantity(), "no bids left for the 98 stops");
+        assertEquals(0, s98b.getFilledQuantity());
+        assertEquals(OrderStatus.OPEN, limit.getStatus(), "stop-limit rests at its limit");
+        assertEquals(96.5, book.getBestAsk());
+        assertEquals(0, book.getPendingStopCount());
+    }
+
+    @Test
+    @DisplayName("Stop: pending stops can be cancelled singly and by owner; stop price is validated")
+    void stop_cancelAndValidate() {
+        Order mine  = new Order("TEST", Side.BUY,  OrderType.STOP, 0, 105.0, 10, "alice");
+        Order mine2 = new Order("TEST", Side.SELL, OrderType.STOP, 0,  95.0, 10, "alice");
+        Order other = stop(Side.BUY, 105.0, 10);
+        book.addOrder(mine);
+        book.addOrder(mine2);
+        book.addOrder(other);
+
+        assertTrue(book.cancelOrder(other.getOrderId()));
+        assertEquals(OrderStatus.CANCELLED, other.getStatus());
+        assertEquals(2, book.massCancel("alice"));
+        assertEquals(0, book.getPendingStopCount());
+
+        assertThrows(IllegalArgumentException.class, () -> stop(Side.BUY, 0, 10));
+        assertThrows(IllegalArgumentException.class, () ->
+                new Order("TEST", Side.BUY, OrderType.STOP_LIMIT, 0, 101.0, 10, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new Order("TEST", Side.BUY, OrderType.LIMIT, 100.0, 101.0, 10, null));
+    }
+
+    @Test
+    @DisplayName("Stop: owner-scoped mass cancel takes only that owner's stops on the chosen side")
+    void stop_massCancelByOwnerAndSide() {
+        trade(100.0, 1);                                        // last trade 100: nothing below triggers yet
+        Order[] aliceBuys  = new Order[20];
+        Order[] aliceSells = new Order[20];
+        Order[] bobBuys    = new Order[20];
+        for (int i = 0; i < 20; i++) {
+            aliceBuys[i]  = new Order("TEST", Side.BUY,  OrderType.STOP, 0, 101.0 + i, 1, "alice");
+            aliceSells[i] = new Order("TEST", Side.SELL, OrderType.STOP, 0,  99.0 - i, 1, "alice");
+            bobBuys[i]    = new Order("TEST", Side.BUY,  OrderType.STOP, 0, 101.0 + i, 1, "bob");
+            book.addOrder(aliceBuys[i]);
+            book.addOrder(aliceSells[i]);
+            book.addOrder(bobBuys[i]);
+        }
+        assertEquals(60, book.getPendingStopCount());
+
+        assertEquals(20, book.massCancel("alice", Side.SELL));
+        assertEquals(0,  book.massCancel("carol", null));
+        assertEquals(40, book.getPendingStopCount());
+        assertTrue(List.of(aliceSells).stream().allMatch(Order::isCancelled));
+        assertTrue(book.cancelOrder(aliceBuys[5].getOrderId()));   // a level in the middle of the ladder
+
+        assertEquals(19, book.massCancel("alice", null));
+        assertEquals(20, book.getPendingStopCount());
+        assertTrue(List.of(bobBuys).stream().noneMatch(Order::isCancelled));
+
+        // bob's stops still trigger lowest first, each as a MARKET buy against the asks
+        book.addOrder(new Order("TEST", Side.SELL, OrderType.LIMIT, 101.0, 100));
+        trade(101.0, 1);
+        assertEquals(19, book.getPendingStopCount(), "only the 101 stop is due");
+        assertTrue(bobBuys[0].isFilled());
+    }
+}
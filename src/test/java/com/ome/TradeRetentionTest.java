@@ -0,0 +1,95 @@
+package com.ome;
+
+import com.ome.book.BookConfig;
+import com.ome.book.OrderBook;
+import com.ome.book.SpillingTradeStore;
+import com.ome.book.TradeStore;
+import com.ome.model.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded trade-history retention policies.
+ */
+@DisplayName("Trade Retention Tests")
+class TradeRetentionTest {
+
+    @Test
+    @DisplayName("Ring: keeps only the most recent trades, oldest first")
+    void ring_keepsMostRecent() {
+        OrderBook book = bookWith(TradeStore.ring(3));
+        long[] sellIds = trade(book, 5);
+
+        List<Trade> history = book.getTradeHistory();
+        assertEquals(3, history.size());
+        assertEquals(sellIds[2], history.get(0).getSellOrderId());
+        assertEquals(sellIds[4], history.get(2).getSellOrderId());
+        assertEquals(5, book.getTradeStore().getTotalRecorded());
+        assertThrows(UnsupportedOperationException.class, () -> history.add(history.get(0)));
+    }
+
+    @Test
+    @DisplayName("None: nothing retained, matching and counters unaffected")
+    void none_retainsNothing() {
+        OrderBook book = bookWith(TradeStore.none());
+        trade(book, 4);
+
+        assertTrue(book.getTradeHistory().isEmpty());
+        assertEquals(4, book.getTradeStore().getTotalRecorded());
+        assertEquals(4, book.getTradeCount());
+    }
+
+    @Test
+    @DisplayName("Spill: every trade reaches the file, recent ones stay in memory")
+    void spill_writesEveryTrade() throws Exception {
+        Path dir = Files.createTempDirectory("ome-trades");
+        OrderBook book = bookWith(TradeStore.spillToDisk(dir, 2));
+        long[] sellIds = trade(book, 4);
+        book.close();
+
+        List<String> lines = Files.readAllLines(dir.resolve("TEST-trades.csv"));
+        assertEquals(5, lines.size(), "header + one line per trade");
+        assertTrue(lines.get(0).startsWith("tradeId,"));
+        assertEquals(String.valueOf(sellIds[3]), lines.get(4).split(",")[3]);
+        assertEquals(2, book.getTradeHistory().size());
+    }
+
+    @Test
+    @DisplayName("Spill: a writer lapped many times over still gets every trade, in order, by flush()")
+    void spill_smallRingLosesNothing() throws Exception {
+        Path dir  = Files.createTempDirectory("ome-trades");
+        Path file = dir.resolve("TEST-trades.csv");
+        OrderBook book = bookWith(symbol -> new SpillingTradeStore(file, 2, 4));
+        long[] sellIds = trade(book, 200);
+
+        ((SpillingTradeStore) book.getTradeStore()).flush();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(201, lines.size(), "header + one line per trade, before close");
+        for (int i = 0; i < sellIds.length; i++) {
+            assertEquals(String.valueOf(sellIds[i]), lines.get(i + 1).split(",")[3]);
+        }
+        book.close();
+        assertThrows(IllegalArgumentException.class, () -> new SpillingTradeStore(file, 2, 3));
+    }
+
+    private static OrderBook bookWith(TradeStore.Factory retention) {
+        return new OrderBook("TEST", new BookConfig.Builder().tradeRetention(retention).build());
+    }
+
+    /** Produce n one-lot trades; returns the maker (sell) ids in order. */
+    private static long[] trade(OrderBook book, int n) {
+        long[] sellIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            Order sell = new Order("TEST", Side.SELL, OrderType.LIMIT, 100.00, 1);
+            sellIds[i] = sell.getOrderId();
+            book.addOrder(sell);
+            book.addOrder(new Order("TEST", Side.BUY, OrderType.LIMIT, 100.00, 1));
+        }
+        return sellIds;
+    }
+}